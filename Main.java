@@ -1,33 +1,270 @@
-import servico.*;
-import template.Menu;
-
-/**
- * Classe principal que inicializa o sistema de gerenciamento de consultório médico.
- *
- * Esta classe cria as instâncias dos serviços necessários para gerir pacientes, médicos
- * e consultas, além de iniciar o menu de interação com o usuário.
- *
- * A execução do programa começa pelo método {@code main}, que instancia os serviços,
- * configura as dependências e chama o método {@code exibir()} do menu para iniciar
- * a interação com o usuário.
- */
-public class Main {
-
-    /**
-     * Método principal que inicia a aplicação.
-     *
-     * @param args Argumentos de linha de comando (não utilizados).
-     */
-    public static void main(String[] args) {
-        // Instanciando os serviços de paciente, médico e consulta
-        PacienteService pacienteService = new PacienteService();
-        MedicoService medicoService = new MedicoService();
-        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
-
-        // Criando o menu passando as dependências (injeção manual)
-        Menu menu = new Menu(pacienteService, medicoService, consultaService);
-
-        // Iniciando o menu
-        menu.exibir();
-    }
-}
+import carga.ConfiguracaoCarga;
+import carga.ExecutorCarga;
+import carga.MedicaoBuscas;
+import carga.MedicaoHorarios;
+import carga.MedicaoMapas;
+import carga.MedicaoPartida;
+import carga.TreinoPartida;
+import carga.VarreduraClinicas;
+import ciclovida.CicloVidaConsultas;
+import ciclovida.SimulacaoCicloVida;
+import lembrete.SimulacaoLembretes;
+import lote.ExecutorLote;
+import replicacao.PrimarioReplicacao;
+import replicacao.ReplicaLeitura;
+import servico.*;
+import template.Menu;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Classe principal que inicializa o sistema de gerenciamento de consultório médico.
+ *
+ * Esta classe cria as instâncias dos serviços necessários para gerir pacientes, médicos
+ * e consultas, além de iniciar o menu de interação com o usuário.
+ *
+ * A execução do programa começa pelo método {@code main}, que instancia os serviços,
+ * configura as dependências e chama o método {@code exibir()} do menu para iniciar
+ * a interação com o usuário. Enquanto o menu está aberto, as consultas AGENDADAS vencidas
+ * são encerradas em segundo plano por um {@link CicloVidaConsultas}.
+ *
+ * Modos opcionais (argumentos de linha de comando):
+ * <ul>
+ *   <li>{@code --primario <porta>}: executa o menu e replica as alterações para uma réplica local;</li>
+ *   <li>{@code --replica <porta>}: mantém uma cópia somente leitura do primário e exibe o atraso;</li>
+ *   <li>{@code --lote <arquivo|-> [tamanho-lote]}: executa um arquivo de comandos (ou a entrada
+ *       padrão, com {@code -}) sem o menu e exibe um resumo da vazão;</li>
+ *   <li>{@code --carga [chave=valor...]}: gera dados e uma carga sintética sobre os serviços
+ *       e imprime vazão, latências, heap e pausas de GC em JSON (ver {@link ConfiguracaoCarga});</li>
+ *   <li>{@code --clinicas [chave=valor...]}: repete a carga com 1, 2, 4 e 8 clínicas e threads e
+ *       compara a vazão (ver {@link VarreduraClinicas});</li>
+ *   <li>{@code --partida [preguicosa|imediata] [chave=valor...]}: mede o tempo do lançamento da JVM
+ *       até a primeira requisição atendida, com os índices montados sob demanda ou desde o início;</li>
+ *   <li>{@code --treino}: percorre os caminhos principais e sai, para gerar um arquivo de CDS
+ *       com {@code -XX:ArchiveClassesAtExit} (ver {@link TreinoPartida});</li>
+ *   <li>{@code --lembretes [consultas]}: simula uma semana de lembretes em tempo acelerado e
+ *       confere os envios (ver {@link SimulacaoLembretes});</li>
+ *   <li>{@code --horarios [consultas]}: mede a memória ocupada pelas consultas e o tempo de
+ *       ordená-las por data/hora (ver {@link MedicaoHorarios});</li>
+ *   <li>{@code --buscas [chamadas]}: mede os bytes alocados por chamada nas buscas por ID e
+ *       falha se os caminhos sem alocação alocarem (ver {@link MedicaoBuscas});</li>
+ *   <li>{@code --mapas [pacientes]}: compara memória e buscas do mapa de chaves {@code int}
+ *       com o {@code HashMap<Integer, ...>} (ver {@link MedicaoMapas});</li>
+ *   <li>{@code --ciclovida [consultas]}: simula uma semana do encerramento automático de
+ *       consultas vencidas e confere os status (ver {@link SimulacaoCicloVida}).</li>
+ * </ul>
+ */
+public class Main {
+
+    // Intervalo entre os resumos exibidos pela réplica
+    private static final long INTERVALO_RESUMO_MILLIS = 5000;
+
+    // Número padrão de consultas na simulação de lembretes
+    private static final int SIMULACAO_CONSULTAS_PADRAO = 20_000;
+
+    // Número padrão de consultas na simulação do ciclo de vida
+    private static final int SIMULACAO_CICLO_VIDA_PADRAO = 20_000;
+
+    // Número padrão de consultas na medição de horários
+    private static final int MEDICAO_HORARIOS_PADRAO = 10_000_000;
+
+    // Número padrão de chamadas medidas em cada busca
+    private static final int MEDICAO_BUSCAS_PADRAO = 1_000_000;
+
+    // Número padrão de pacientes na comparação dos mapas
+    private static final int MEDICAO_MAPAS_PADRAO = 5_000_000;
+
+    /**
+     * Método principal que inicia a aplicação.
+     *
+     * @param args Argumentos de linha de comando (modo opcional e seus parâmetros).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long inicioMain = System.currentTimeMillis();
+        String modo = args.length > 0 ? args[0] : "";
+        switch (modo) {
+            case "--primario" -> executarPrimario(lerPorta(args));
+            case "--replica" -> executarReplica(lerPorta(args));
+            case "--lote" -> executarLote(args);
+            case "--carga" -> executarCarga(args);
+            case "--clinicas" -> executarVarreduraClinicas(args);
+            case "--partida" -> executarPartida(args, inicioMain);
+            case "--treino" -> System.out.println(new TreinoPartida().executar());
+            case "--lembretes" -> executarSimulacaoLembretes(args);
+            case "--horarios" -> executarMedicaoHorarios(args);
+            case "--buscas" -> executarMedicaoBuscas(args);
+            case "--mapas" -> executarMedicaoMapas(args);
+            case "--ciclovida" -> executarSimulacaoCicloVida(args);
+            default -> executarMenu();
+        }
+    }
+
+    /**
+     * Modo padrão: menu interativo sobre serviços em memória.
+     */
+    private static void executarMenu() {
+        // Instanciando os serviços de paciente, médico e consulta
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+
+        // Criando o menu passando as dependências (injeção manual)
+        Menu menu = new Menu(pacienteService, medicoService, consultaService);
+
+        // Iniciando o menu, com o encerramento das consultas vencidas em segundo plano
+        CicloVidaConsultas cicloVida = iniciarCicloVida(consultaService);
+        menu.exibir();
+        cicloVida.encerrar();
+    }
+
+    /**
+     * Encerra as consultas vencidas com a regra e a tolerância padrão, a cada
+     * {@link CicloVidaConsultas#INTERVALO_PADRAO}.
+     */
+    private static CicloVidaConsultas iniciarCicloVida(ConsultaService consultaService) {
+        CicloVidaConsultas cicloVida = new CicloVidaConsultas(consultaService);
+        cicloVida.iniciar(CicloVidaConsultas.INTERVALO_PADRAO);
+        return cicloVida;
+    }
+
+    /**
+     * Executa o menu e replica as alterações para a réplica conectada na porta informada.
+     */
+    private static void executarPrimario(int porta) throws IOException {
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+
+        PrimarioReplicacao primario = new PrimarioReplicacao(pacienteService, medicoService, consultaService, porta);
+        System.out.println("Primário aguardando réplica na porta " + primario.getPorta());
+
+        CicloVidaConsultas cicloVida = iniciarCicloVida(consultaService);
+        new Menu(pacienteService, medicoService, consultaService).exibir();
+        cicloVida.encerrar();
+
+        System.out.println(primario.resumo());
+        primario.encerrar();
+    }
+
+    /**
+     * Mantém uma réplica somente leitura e exibe periodicamente o seu resumo.
+     */
+    private static void executarReplica(int porta) throws InterruptedException {
+        ReplicaLeitura replica = new ReplicaLeitura(porta);
+        System.out.println("Réplica conectando ao primário na porta " + porta);
+        while (true) {
+            Thread.sleep(INTERVALO_RESUMO_MILLIS);
+            System.out.println(replica.resumo());
+        }
+    }
+
+    /**
+     * Executa um arquivo de comandos sem o menu (ver {@link ExecutorLote} para o formato).
+     * Se o tamanho do lote for informado, os agendamentos usam o pipeline assíncrono.
+     */
+    private static void executarLote(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Informe o arquivo de comandos: --lote <arquivo|-> [tamanho-lote]");
+        }
+        int tamanhoLote = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+        ExecutorLote executor = new ExecutorLote(pacienteService, medicoService, consultaService, tamanhoLote);
+
+        ExecutorLote.Resumo resumo;
+        if (args[1].equals("-")) {
+            resumo = executor.executar(System.in);
+        } else {
+            try (InputStream entrada = new FileInputStream(args[1])) {
+                resumo = executor.executar(entrada);
+            }
+        }
+        consultaService.encerrarAgendamentoAssincrono();
+        System.out.println(resumo);
+    }
+
+    /**
+     * Executa a carga sintética e imprime o resultado em JSON na saída padrão.
+     */
+    private static void executarCarga(String[] args) throws InterruptedException {
+        ConfiguracaoCarga config = ConfiguracaoCarga.deArgumentos(args, 1);
+        System.out.println(ExecutorCarga.criar(config).executar().toJson());
+    }
+
+    /**
+     * Repete a carga variando clínicas e threads e imprime a vazão de cada combinação em JSON.
+     */
+    private static void executarVarreduraClinicas(String[] args) throws InterruptedException {
+        System.out.println(new VarreduraClinicas(Arrays.copyOfRange(args, 1, args.length)).executar());
+    }
+
+    /**
+     * Mede a partida e imprime os tempos em JSON. Os parâmetros de carga são os mesmos de
+     * {@code --carga} (apenas pacientes, médicos, consultas, dias e semente são usados).
+     */
+    private static void executarPartida(String[] args, long inicioMain) {
+        int inicio = 1;
+        boolean imediata = false;
+        if (args.length > 1 && !args[1].contains("=")) {
+            if (!args[1].equals("imediata") && !args[1].equals("preguicosa")) {
+                throw new IllegalArgumentException("Modo de índices inválido: " + args[1] + " (use preguicosa ou imediata)");
+            }
+            imediata = args[1].equals("imediata");
+            inicio = 2;
+        }
+        ConfiguracaoCarga config = ConfiguracaoCarga.deArgumentos(args, inicio);
+        System.out.println(new MedicaoPartida(config, imediata).executar(inicioMain));
+    }
+
+    /**
+     * Simula uma semana de lembretes; termina com exceção se alguma verificação falhar.
+     */
+    private static void executarSimulacaoLembretes(String[] args) throws InterruptedException {
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : SIMULACAO_CONSULTAS_PADRAO;
+        System.out.println(new SimulacaoLembretes(consultas, 42).executar());
+    }
+
+    /**
+     * Mede memória e ordenação das datas/horas das consultas e imprime o resultado em JSON.
+     */
+    private static void executarMedicaoHorarios(String[] args) {
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : MEDICAO_HORARIOS_PADRAO;
+        System.out.println(new MedicaoHorarios(consultas, 42).executar());
+    }
+
+    /**
+     * Mede a alocação das buscas por ID; termina com exceção se um caminho rápido alocar.
+     */
+    private static void executarMedicaoBuscas(String[] args) {
+        int chamadas = args.length > 1 ? Integer.parseInt(args[1]) : MEDICAO_BUSCAS_PADRAO;
+        System.out.println(new MedicaoBuscas(chamadas).executar());
+    }
+
+    /**
+     * Compara o mapa de chaves int com o HashMap e imprime o resultado em JSON.
+     */
+    private static void executarMedicaoMapas(String[] args) {
+        int pacientes = args.length > 1 ? Integer.parseInt(args[1]) : MEDICAO_MAPAS_PADRAO;
+        System.out.println(new MedicaoMapas(pacientes).executar());
+    }
+
+    /**
+     * Simula uma semana do ciclo de vida; termina com exceção se alguma verificação falhar.
+     */
+    private static void executarSimulacaoCicloVida(String[] args) throws InterruptedException {
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : SIMULACAO_CICLO_VIDA_PADRAO;
+        System.out.println(new SimulacaoCicloVida(consultas, 42).executar());
+    }
+
+    private static int lerPorta(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Informe a porta: " + args[0] + " <porta>");
+        }
+        return Integer.parseInt(args[1]);
+    }
+}
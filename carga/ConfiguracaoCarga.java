@@ -0,0 +1,201 @@
+package carga;
+
+import repositorio.GeradorIds;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parâmetros de uma execução de carga.
+ *
+ * Os valores podem ser informados na linha de comando no formato {@code chave=valor}
+ * (por exemplo {@code threads=8 leituras=0.9}); os demais ficam com o valor padrão.
+ */
+public class ConfiguracaoCarga {
+
+    /**
+     * Caminho pelo qual as escritas medidas chegam aos serviços.
+     */
+    public enum Escritas {
+        /** Chamadas diretas aos serviços, na thread da trabalhadora. */
+        DIRETAS,
+        /** Agendamentos pelo pipeline assíncrono ({@code agendarConsultaAsync}), esperando o Future. */
+        PIPELINE
+    }
+
+    private long semente = 42;
+    private int pacientes = 50_000;
+    private int medicos = 500;
+    private int consultasIniciais = 200_000;
+    private int dias = 90;                // Janela de datas das consultas geradas
+    private int threads = 4;
+    private long operacoes = 1_000_000;   // Total de operações medidas, divididas entre as threads
+    private long aquecimento = 100_000;   // Operações executadas antes da medição (não entram no resultado)
+    private double leituras = 0.8;        // Fração das operações que são leituras
+    private Escritas escritas = Escritas.DIRETAS;
+    private int clinicas = 1;             // Clínicas da rede entre as quais os dados são divididos
+
+    /**
+     * Cria a configuração a partir de argumentos {@code chave=valor}.
+     *
+     * @param args   Argumentos da linha de comando
+     * @param inicio Índice do primeiro argumento a considerar
+     * @return Configuração com os valores informados
+     * @throws IllegalArgumentException Se algum argumento for desconhecido ou inválido
+     */
+    public static ConfiguracaoCarga deArgumentos(String[] args, int inicio) {
+        ConfiguracaoCarga c = new ConfiguracaoCarga();
+        for (int i = inicio; i < args.length; i++) {
+            int igual = args[i].indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (use chave=valor): " + args[i]);
+            }
+            String chave = args[i].substring(0, igual);
+            String valor = args[i].substring(igual + 1);
+            switch (chave) {
+                case "semente" -> c.semente = Long.parseLong(valor);
+                case "pacientes" -> c.pacientes = Integer.parseInt(valor);
+                case "medicos" -> c.medicos = Integer.parseInt(valor);
+                case "consultas" -> c.consultasIniciais = Integer.parseInt(valor);
+                case "dias" -> c.dias = Integer.parseInt(valor);
+                case "threads" -> c.threads = Integer.parseInt(valor);
+                case "operacoes" -> c.operacoes = Long.parseLong(valor);
+                case "aquecimento" -> c.aquecimento = Long.parseLong(valor);
+                case "leituras" -> c.leituras = Double.parseDouble(valor);
+                case "escritas" -> c.escritas = lerEscritas(valor);
+                case "clinicas" -> c.clinicas = Integer.parseInt(valor);
+                default -> throw new IllegalArgumentException("Parâmetro de carga desconhecido: " + chave);
+            }
+        }
+        c.validar();
+        return c;
+    }
+
+    private static Escritas lerEscritas(String valor) {
+        for (Escritas escritas : Escritas.values()) {
+            if (escritas.name().equalsIgnoreCase(valor)) {
+                return escritas;
+            }
+        }
+        throw new IllegalArgumentException("Caminho de escritas inválido: " + valor
+                + " (use " + nomesEscritas() + ")");
+    }
+
+    private static String nomesEscritas() {
+        StringBuilder nomes = new StringBuilder();
+        for (Escritas escritas : Escritas.values()) {
+            nomes.append(nomes.length() == 0 ? "" : ", ").append(escritas.name().toLowerCase(Locale.ROOT));
+        }
+        return nomes.toString();
+    }
+
+    private void validar() {
+        if (pacientes <= 0 || medicos <= 0 || consultasIniciais < 0 || dias <= 0 || threads <= 0
+                || operacoes < 0 || aquecimento < 0) {
+            throw new IllegalArgumentException("Quantidades da carga devem ser positivas.");
+        }
+        if (leituras < 0 || leituras > 1) {
+            throw new IllegalArgumentException("A fração de leituras deve estar entre 0 e 1.");
+        }
+        if (clinicas <= 0 || clinicas > GeradorIds.MAX_PARTICOES) {
+            throw new IllegalArgumentException("O número de clínicas deve estar entre 1 e " + GeradorIds.MAX_PARTICOES + ".");
+        }
+    }
+
+    /**
+     * @return Semente dos geradores aleatórios
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * @return Número de pacientes cadastrados antes da carga
+     */
+    public int getPacientes() {
+        return pacientes;
+    }
+
+    /**
+     * @return Número de médicos cadastrados antes da carga
+     */
+    public int getMedicos() {
+        return medicos;
+    }
+
+    /**
+     * @return Número de consultas agendadas antes da carga
+     */
+    public int getConsultasIniciais() {
+        return consultasIniciais;
+    }
+
+    /**
+     * @return Número de dias da janela de datas das consultas
+     */
+    public int getDias() {
+        return dias;
+    }
+
+    /**
+     * @return Número de threads que executam operações
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return Total de operações medidas
+     */
+    public long getOperacoes() {
+        return operacoes;
+    }
+
+    /**
+     * @return Total de operações de aquecimento
+     */
+    public long getAquecimento() {
+        return aquecimento;
+    }
+
+    /**
+     * @return Fração das operações que são leituras (0 a 1)
+     */
+    public double getLeituras() {
+        return leituras;
+    }
+
+    /**
+     * @return Caminho pelo qual as escritas chegam aos serviços
+     */
+    public Escritas getEscritas() {
+        return escritas;
+    }
+
+    /**
+     * @return Número de clínicas da rede (1 = serviços únicos, sem partição)
+     */
+    public int getClinicas() {
+        return clinicas;
+    }
+
+    /**
+     * @return Os parâmetros em ordem fixa, para o relatório
+     */
+    Map<String, Object> comoMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("semente", semente);
+        mapa.put("pacientes", pacientes);
+        mapa.put("medicos", medicos);
+        mapa.put("consultas", consultasIniciais);
+        mapa.put("dias", dias);
+        mapa.put("threads", threads);
+        mapa.put("operacoes", operacoes);
+        mapa.put("aquecimento", aquecimento);
+        mapa.put("leituras", leituras);
+        mapa.put("escritas", escritas.name().toLowerCase(Locale.ROOT));
+        mapa.put("clinicas", clinicas);
+        return mapa;
+    }
+}
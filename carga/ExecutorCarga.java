@@ -0,0 +1,374 @@
+package carga;
+
+import entidade.Consulta;
+import entidade.Medico;
+import repositorio.GeradorIds;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+import servico.RedeClinicas;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Macro benchmark que exercita os serviços reais com uma carga sintética.
+ *
+ * A execução tem três fases:
+ * <ol>
+ *   <li>população: cadastra pacientes, médicos (com especialidades ponderadas) e consultas
+ *       iniciais; consultas já passadas recebem o status final (realizada, cancelada ou ausência);</li>
+ *   <li>aquecimento: executa operações sem medir, para que o JIT compile os caminhos quentes;</li>
+ *   <li>medição: as threads começam juntas e executam a mistura de leituras e escritas,
+ *       registrando a latência de cada operação.</li>
+ * </ol>
+ *
+ * Leituras são buscas por ID de consultas, pacientes e médicos. Escritas são agendamentos,
+ * mudanças de status, reagendamentos e cadastros de pacientes. Com a mesma semente, os dados
+ * e a sequência de operações de cada thread são sempre os mesmos; só a intercalação entre
+ * threads varia.
+ *
+ * A população é sempre feita por chamadas diretas. O parâmetro {@code escritas} escolhe o
+ * caminho das escritas no aquecimento e na medição, para comparar os caminhos com os mesmos
+ * dados; com {@code escritas=pipeline}, cada agendamento espera o seu Future, de modo que a
+ * latência registrada é a do pedido até a confirmação.
+ *
+ * Com uma {@link RedeClinicas}, pacientes, médicos e consultas são divididos entre as
+ * clínicas e cada thread trabalha numa só clínica (a thread {@code i} na clínica
+ * {@code i % clinicas}), como o balcão de uma unidade: as operações de clínicas diferentes não
+ * disputam os mesmos bloqueios.
+ */
+public class ExecutorCarga {
+
+    private final ConfiguracaoCarga config;
+    private final Particao[] particoes;
+
+    /**
+     * Serviços de uma clínica e os dados usados para sortear IDs existentes nela.
+     */
+    private static final class Particao {
+        final PacienteService pacienteService;
+        final MedicoService medicoService;
+        final ConsultaService consultaService;
+
+        // Clínica codificada nos IDs, ou -1 com IDs sequenciais (sem rede)
+        private final int clinica;
+
+        // Médicos agrupados pelo índice da especialidade (ver GeradorDados.ESPECIALIDADES)
+        int[][] medicosPorEspecialidade;
+
+        // Maiores números locais (IDs sem a clínica) já criados, usados para sortear IDs existentes
+        final AtomicInteger maiorPaciente = new AtomicInteger();
+        final AtomicInteger maiorConsulta = new AtomicInteger();
+
+        Particao(PacienteService pacienteService, MedicoService medicoService,
+                 ConsultaService consultaService, int clinica) {
+            this.pacienteService = pacienteService;
+            this.medicoService = medicoService;
+            this.consultaService = consultaService;
+            this.clinica = clinica;
+        }
+
+        void criouPaciente(int id) {
+            maiorPaciente.accumulateAndGet(local(id), Math::max);
+        }
+
+        void criouConsulta(int id) {
+            maiorConsulta.accumulateAndGet(local(id), Math::max);
+        }
+
+        int sortearPaciente(GeradorDados gerador) {
+            return id(1 + gerador.inteiro(maiorPaciente.get()));
+        }
+
+        int sortearConsulta(GeradorDados gerador) {
+            return id(1 + gerador.inteiro(Math.max(1, maiorConsulta.get())));
+        }
+
+        int sortearMedico(GeradorDados gerador) {
+            int[] grupo = medicosPorEspecialidade[gerador.indiceEspecialidade()];
+            if (grupo.length == 0) {
+                grupo = medicosPorEspecialidade[0];
+            }
+            return grupo[gerador.inteiro(grupo.length)];
+        }
+
+        private int local(int id) {
+            return clinica < 0 ? id : id >>> GeradorIds.BITS_PARTICAO;
+        }
+
+        private int id(int local) {
+            return clinica < 0 ? local : (local << GeradorIds.BITS_PARTICAO) | clinica;
+        }
+    }
+
+    /**
+     * @param config Parâmetros da carga
+     */
+    public ExecutorCarga(ConfiguracaoCarga config, PacienteService pacienteService,
+                         MedicoService medicoService, ConsultaService consultaService) {
+        this.config = config;
+        this.particoes = new Particao[] {new Particao(pacienteService, medicoService, consultaService, -1)};
+    }
+
+    /**
+     * Carga dividida entre as clínicas da rede.
+     *
+     * @param config Parâmetros da carga
+     * @param rede   Rede cujas clínicas recebem os dados e as operações
+     */
+    public ExecutorCarga(ConfiguracaoCarga config, RedeClinicas rede) {
+        this.config = config;
+        this.particoes = new Particao[rede.getNumeroClinicas()];
+        for (int i = 0; i < particoes.length; i++) {
+            particoes[i] = new Particao(rede.pacientes(i), rede.medicos(i), rede.consultas(i), i);
+        }
+    }
+
+    /**
+     * Cria o executor com serviços novos: uma {@link RedeClinicas} se a configuração pedir mais
+     * de uma clínica, ou os serviços únicos, com IDs sequenciais.
+     *
+     * @param config Parâmetros da carga
+     * @return Executor pronto para {@link #executar()}
+     */
+    public static ExecutorCarga criar(ConfiguracaoCarga config) {
+        if (config.getClinicas() > 1) {
+            return new ExecutorCarga(config, new RedeClinicas(config.getClinicas()));
+        }
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        return new ExecutorCarga(config, pacienteService, medicoService,
+                new ConsultaService(pacienteService, medicoService));
+    }
+
+    /**
+     * Executa as três fases e mede a fase de medição.
+     *
+     * @return Resultado da medição
+     * @throws InterruptedException Se a thread for interrompida enquanto espera as trabalhadoras
+     */
+    public ResultadoCarga executar() throws InterruptedException {
+        long inicioPopulacao = System.nanoTime();
+        popular();
+        long populacaoNanos = System.nanoTime() - inicioPopulacao;
+
+        rodar(config.getAquecimento(), 1000);
+
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long heapAntes = memoria.getHeapMemoryUsage().getUsed();
+        MonitorGc gc = new MonitorGc();
+        gc.iniciar();
+
+        long inicio = System.nanoTime();
+        Trabalhadora[] trabalhadoras = rodar(config.getOperacoes(), 0);
+        long duracao = System.nanoTime() - inicio;
+        int consultasFinais = 0;
+        for (Particao particao : particoes) {
+            particao.consultaService.encerrarAgendamentoAssincrono();
+            consultasFinais += particao.consultaService.listarConsultas().size();
+        }
+
+        gc.parar();
+        long heapDepois = memoria.getHeapMemoryUsage().getUsed();
+        long heapPico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                heapPico += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        HistogramaLatencia leituras = new HistogramaLatencia();
+        HistogramaLatencia escritas = new HistogramaLatencia();
+        long erros = 0;
+        for (Trabalhadora t : trabalhadoras) {
+            leituras.somar(t.leituras);
+            escritas.somar(t.escritas);
+            erros += t.erros;
+        }
+        return new ResultadoCarga(config, populacaoNanos, duracao, leituras, escritas, erros,
+                heapAntes, heapDepois, heapPico, memoria.getHeapMemoryUsage().getMax(), gc,
+                consultasFinais);
+    }
+
+    // ==================== POPULAÇÃO ====================
+
+    /**
+     * Cadastra pacientes, médicos e consultas iniciais (também usado por {@link MedicaoPartida}).
+     * Com várias clínicas, cada uma recebe a sua parte das quantidades.
+     */
+    void popular() {
+        GeradorDados gerador = new GeradorDados(config.getSemente(), config.getDias());
+        for (int i = 0; i < particoes.length; i++) {
+            popular(particoes[i], gerador, parte(config.getPacientes(), i), parte(config.getMedicos(), i),
+                    parte(config.getConsultasIniciais(), i));
+        }
+    }
+
+    private void popular(Particao particao, GeradorDados gerador, int pacientes, int medicos, int consultas) {
+        for (int i = 0; i < pacientes; i++) {
+            particao.criouPaciente(
+                    particao.pacienteService.cadastrarPaciente(gerador.nome(), gerador.telefone()).getId());
+        }
+
+        List<List<Integer>> grupos = new ArrayList<>();
+        for (int i = 0; i < GeradorDados.ESPECIALIDADES.length; i++) {
+            grupos.add(new ArrayList<>());
+        }
+        for (int i = 0; i < medicos; i++) {
+            // Garante ao menos um médico por especialidade antes de sortear
+            int especialidade = i < grupos.size() ? i : gerador.indiceEspecialidade();
+            Medico medico = particao.medicoService.cadastrarMedico("Dr(a). " + gerador.nome(),
+                    GeradorDados.ESPECIALIDADES[especialidade]);
+            grupos.get(especialidade).add(medico.getId());
+        }
+        particao.medicosPorEspecialidade = new int[grupos.size()][];
+        for (int i = 0; i < grupos.size(); i++) {
+            particao.medicosPorEspecialidade[i] = grupos.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Metade da janela fica no passado: essas consultas já têm o status final
+        int minutoAgora = Consulta.paraMinuto(GeradorDados.INICIO_JANELA.plusDays(config.getDias() / 2));
+        ConsultaService consultaService = particao.consultaService;
+        for (int i = 0; i < consultas; i++) {
+            LocalDateTime horario = gerador.horario();
+            Consulta consulta = consultaService.agendarConsulta(particao.sortearPaciente(gerador),
+                    particao.sortearMedico(gerador), horario);
+            if (consulta.getMinuto() < minutoAgora) {
+                consultaService.atualizarStatusConsulta(consulta.getId(), gerador.statusFinal());
+            }
+            particao.criouConsulta(consulta.getId());
+        }
+    }
+
+    /**
+     * Parte da quantidade que cabe à clínica (as primeiras recebem o resto da divisão).
+     */
+    private int parte(int quantidade, int clinica) {
+        return quantidade / particoes.length + (clinica < quantidade % particoes.length ? 1 : 0);
+    }
+
+    // ==================== EXECUÇÃO ====================
+
+    /**
+     * Divide as operações entre as threads, libera todas ao mesmo tempo e espera o fim.
+     *
+     * @param indiceBase Deslocamento dos índices dos geradores (aquecimento e medição usam sequências diferentes)
+     */
+    private Trabalhadora[] rodar(long operacoes, int indiceBase) throws InterruptedException {
+        int threads = config.getThreads();
+        Trabalhadora[] trabalhadoras = new Trabalhadora[threads];
+        Thread[] execucoes = new Thread[threads];
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            long quantidade = operacoes / threads + (i < operacoes % threads ? 1 : 0);
+            GeradorDados gerador = new GeradorDados(config.getSemente(), config.getDias()).derivar(indiceBase + i);
+            trabalhadoras[i] = new Trabalhadora(particoes[i % particoes.length], gerador, quantidade, largada);
+            execucoes[i] = new Thread(trabalhadoras[i], "carga-" + i);
+            execucoes[i].start();
+        }
+        largada.countDown();
+        for (Thread execucao : execucoes) {
+            execucao.join();
+        }
+        return trabalhadoras;
+    }
+
+    /**
+     * Executa a sua parte das operações e registra as latências em histogramas próprios.
+     */
+    private final class Trabalhadora implements Runnable {
+
+        final HistogramaLatencia leituras = new HistogramaLatencia();
+        final HistogramaLatencia escritas = new HistogramaLatencia();
+        long erros;
+
+        private final Particao particao;
+        private final GeradorDados gerador;
+        private final long operacoes;
+        private final CountDownLatch largada;
+
+        Trabalhadora(Particao particao, GeradorDados gerador, long operacoes, CountDownLatch largada) {
+            this.particao = particao;
+            this.gerador = gerador;
+            this.operacoes = operacoes;
+            this.largada = largada;
+        }
+
+        @Override
+        public void run() {
+            try {
+                largada.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (long i = 0; i < operacoes; i++) {
+                boolean leitura = gerador.fracao() < config.getLeituras();
+                long inicio = System.nanoTime();
+                try {
+                    if (leitura) {
+                        ler();
+                    } else {
+                        escrever();
+                    }
+                } catch (RuntimeException e) {
+                    erros++;
+                }
+                long latencia = System.nanoTime() - inicio;
+                (leitura ? leituras : escritas).registrar(latencia);
+            }
+        }
+
+        /**
+         * Busca por ID: consulta (55%), paciente (25%) ou médico (20%).
+         */
+        private void ler() {
+            int n = gerador.inteiro(100);
+            if (n < 55) {
+                particao.consultaService.buscarConsultaPorId(particao.sortearConsulta(gerador));
+            } else if (n < 80) {
+                particao.pacienteService.buscarPacientePorId(particao.sortearPaciente(gerador));
+            } else {
+                particao.medicoService.buscarMedicoPorId(particao.sortearMedico(gerador));
+            }
+        }
+
+        /**
+         * Agendamento (50%), mudança de status (35%), reagendamento (10%) ou novo paciente (5%).
+         */
+        private void escrever() {
+            int n = gerador.inteiro(100);
+            if (n < 50) {
+                particao.criouConsulta(agendar(particao.sortearPaciente(gerador), particao.sortearMedico(gerador),
+                        gerador.horario()));
+            } else if (n < 85) {
+                particao.consultaService.atualizarStatusConsulta(particao.sortearConsulta(gerador),
+                        gerador.statusFinal());
+            } else if (n < 95) {
+                particao.consultaService.reagendarConsulta(particao.sortearConsulta(gerador), gerador.horario());
+            } else {
+                particao.criouPaciente(
+                        particao.pacienteService.cadastrarPaciente(gerador.nome(), gerador.telefone()).getId());
+            }
+        }
+
+        private int agendar(int idPaciente, int idMedico, LocalDateTime horario) {
+            ConsultaService consultaService = particao.consultaService;
+            if (config.getEscritas() == ConfiguracaoCarga.Escritas.PIPELINE) {
+                return consultaService.agendarConsultaAsync(idPaciente, idMedico, horario).join().getId();
+            }
+            return consultaService.agendarConsulta(idPaciente, idMedico, horario).getId();
+        }
+    }
+}
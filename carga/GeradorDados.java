@@ -0,0 +1,146 @@
+package carga;
+
+import entidade.Consulta;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de dados com distribuições próximas às de um consultório real.
+ *
+ * A mesma semente produz sempre a mesma sequência de nomes, especialidades, horários e
+ * transições de status. As consultas caem em dias úteis, das 8h às 17h45 em intervalos de
+ * 15 minutos, com picos no meio da manhã e da tarde; as especialidades seguem pesos fixos
+ * (clínica geral é a mais procurada).
+ *
+ * Uma instância não é thread-safe; cada thread deve usar a sua ({@link #derivar(int)}).
+ */
+public class GeradorDados {
+
+    // Especialidades e seus pesos relativos na procura
+    static final String[] ESPECIALIDADES = {
+            "Clínica Geral", "Pediatria", "Ginecologia", "Cardiologia",
+            "Dermatologia", "Ortopedia", "Oftalmologia", "Psiquiatria"
+    };
+    private static final int[] PESOS_ESPECIALIDADE = {30, 15, 12, 10, 9, 9, 8, 7};
+
+    // Peso de cada hora de atendimento, das 8h às 17h (almoço e fim do dia com menos consultas)
+    private static final int[] PESOS_HORA = {6, 10, 12, 11, 5, 6, 11, 12, 9, 6};
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela", "Henrique",
+            "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael",
+            "Sofia", "Thiago", "Vitória", "William"
+    };
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Ferreira", "Costa",
+            "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Gomes", "Martins", "Araújo"
+    };
+
+    // Primeiro dia da janela de datas (uma segunda-feira), fixo para manter a reprodutibilidade
+    static final LocalDateTime INICIO_JANELA = LocalDateTime.of(2026, 1, 5, 0, 0);
+
+    private final long semente;
+    private final SplittableRandom aleatorio;
+    private final int dias;
+
+    /**
+     * @param semente Semente da sequência
+     * @param dias    Número de dias da janela de datas
+     */
+    public GeradorDados(long semente, int dias) {
+        this.semente = semente;
+        this.aleatorio = new SplittableRandom(semente);
+        this.dias = dias;
+    }
+
+    /**
+     * Cria um gerador independente e também determinístico, por exemplo um para cada thread.
+     *
+     * @param indice Índice do gerador derivado (0, 1, 2...)
+     * @return Novo gerador
+     */
+    public GeradorDados derivar(int indice) {
+        return new GeradorDados(semente + 0x9E3779B97F4A7C15L * (indice + 1), dias);
+    }
+
+    /**
+     * @return Nome completo de pessoa
+     */
+    public String nome() {
+        return NOMES[aleatorio.nextInt(NOMES.length)] + ' ' + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+    }
+
+    /**
+     * @return Telefone celular no formato (DD) 9XXXX-XXXX
+     */
+    public String telefone() {
+        return String.format(Locale.ROOT, "(%02d) 9%04d-%04d", 11 + aleatorio.nextInt(89),
+                aleatorio.nextInt(10_000), aleatorio.nextInt(10_000));
+    }
+
+    /**
+     * @return Índice em {@link #ESPECIALIDADES} sorteado conforme os pesos de procura
+     */
+    public int indiceEspecialidade() {
+        return sortearPeso(PESOS_ESPECIALIDADE);
+    }
+
+    /**
+     * @param limite Valor máximo (exclusivo)
+     * @return Inteiro uniforme entre 0 e {@code limite - 1}
+     */
+    public int inteiro(int limite) {
+        return aleatorio.nextInt(limite);
+    }
+
+    /**
+     * @return Número uniforme em [0, 1)
+     */
+    public double fracao() {
+        return aleatorio.nextDouble();
+    }
+
+    /**
+     * Sorteia um horário de consulta: dia útil da janela, hora conforme os pesos e minuto múltiplo de 15.
+     *
+     * @return Data e hora da consulta
+     */
+    public LocalDateTime horario() {
+        LocalDateTime dia;
+        do {
+            dia = INICIO_JANELA.plusDays(aleatorio.nextInt(dias));
+        } while (dia.getDayOfWeek() == DayOfWeek.SATURDAY || dia.getDayOfWeek() == DayOfWeek.SUNDAY);
+        return dia.withHour(8 + sortearPeso(PESOS_HORA)).withMinute(15 * aleatorio.nextInt(4));
+    }
+
+    /**
+     * Sorteia o destino de uma consulta: realizada (80%), cancelada (12%) ou paciente ausente (8%).
+     *
+     * @return Status final da consulta
+     */
+    public Consulta.Status statusFinal() {
+        int n = aleatorio.nextInt(100);
+        if (n < 80) {
+            return Consulta.Status.REALIZADA;
+        }
+        return n < 92 ? Consulta.Status.CANCELADA : Consulta.Status.NAO_COMPARECEU;
+    }
+
+    private int sortearPeso(int[] pesos) {
+        int total = 0;
+        for (int peso : pesos) {
+            total += peso;
+        }
+        int n = aleatorio.nextInt(total);
+        for (int i = 0; i < pesos.length; i++) {
+            n -= pesos[i];
+            if (n < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package carga;
+
+/**
+ * Histograma de latências com precisão relativa de cerca de 3%.
+ *
+ * Valores até 31 ns têm uma faixa cada; acima disso, cada potência de dois é dividida em
+ * 32 faixas iguais. O tamanho é fixo (2048 contadores), então registrar não aloca e o
+ * histograma não interfere na medição de memória, seja qual for o número de operações.
+ * A classe não é thread-safe: cada thread registra no seu e os resultados são somados no fim.
+ */
+final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 5;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+
+    private final long[] contagens = new long[64 * SUBFAIXAS];
+    private long total;
+    private long soma;
+    private long maximo;
+
+    /**
+     * @param nanos Latência de uma operação, em nanossegundos
+     */
+    void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens[indice(valor)]++;
+        total++;
+        soma += valor;
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * Acrescenta as contagens de outro histograma a este.
+     */
+    void somar(HistogramaLatencia outro) {
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        soma += outro.soma;
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * @return Número de operações registradas
+     */
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Maior latência registrada, em nanossegundos
+     */
+    long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * @return Latência média, em nanossegundos
+     */
+    double getMedia() {
+        return total == 0 ? 0 : (double) soma / total;
+    }
+
+    /**
+     * @param percentil Percentil desejado, entre 0 e 100
+     * @return Limite superior da faixa que contém o percentil, em nanossegundos
+     */
+    long percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    private static int indice(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS) {
+            return indice;
+        }
+        int expoente = indice / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        long largura = 1L << (expoente - BITS_SUBFAIXA);
+        return ((long) (SUBFAIXAS + indice % SUBFAIXAS) << (expoente - BITS_SUBFAIXA)) + largura - 1;
+    }
+}
@@ -0,0 +1,135 @@
+package carga;
+
+import erro.EntidadeNaoEncontradaException;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+/**
+ * Mede os bytes alocados por chamada nas buscas por ID, com o contador de alocação da thread
+ * ({@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}).
+ *
+ * Cada caminho é aquecido e depois chamado {@code chamadas} vezes com IDs inexistentes (e
+ * também existentes, nos caminhos sem exceção). Os caminhos rápidos ({@code existe*} e
+ * {@code buscar*OuNulo}) não devem alocar nada; a medição falha se algum deles alocar.
+ * Para comparação, também são medidos o {@code buscarPacientePorId} com pilha de chamadas e
+ * o agendamento com paciente inexistente, que lança a exceção leve.
+ */
+public class MedicaoBuscas {
+
+    private static final int EXISTENTES = 1000;
+    private static final int AQUECIMENTO = 200_000;
+
+    private final int chamadas;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * @param chamadas Número de chamadas medidas em cada caminho
+     */
+    public MedicaoBuscas(int chamadas) {
+        if (chamadas <= 0) {
+            throw new IllegalArgumentException("O número de chamadas deve ser positivo.");
+        }
+        this.chamadas = chamadas;
+    }
+
+    /**
+     * Executa a medição.
+     *
+     * @return Bytes alocados por chamada em cada caminho, em JSON
+     * @throws IllegalStateException Se algum caminho rápido alocar memória
+     */
+    public String executar() {
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+        for (int i = 0; i < EXISTENTES; i++) {
+            pacienteService.cadastrarPaciente("Paciente " + i, "11999990000");
+            int medico = medicoService.cadastrarMedico("Médico " + i, "Clínica Geral").getId();
+            consultaService.agendarConsulta(i + 1, medico, LocalDateTime.of(2030, 1, 7, 8, 0).plusMinutes(i));
+        }
+        int ausente = 1_000_000;
+
+        StringBuilder sb = new StringBuilder(512).append("{\n");
+        StringBuilder alocaram = new StringBuilder();
+        medirRapido(sb, alocaram, "existePaciente", pacienteService::existePaciente, ausente);
+        medirRapido(sb, alocaram, "existeMedico", medicoService::existeMedico, ausente);
+        medirRapido(sb, alocaram, "existeConsulta", consultaService::existeConsulta, ausente);
+        medirRapido(sb, alocaram, "buscarPacienteOuNulo", id -> pacienteService.buscarPacienteOuNulo(id) != null, ausente);
+        medirRapido(sb, alocaram, "buscarMedicoOuNulo", id -> medicoService.buscarMedicoOuNulo(id) != null, ausente);
+        medirRapido(sb, alocaram, "buscarConsultaOuNulo", id -> consultaService.buscarConsultaOuNulo(id) != null, ausente);
+        campo(sb, "buscarPacientePorIdAusente", medir(id -> {
+            try {
+                return pacienteService.buscarPacientePorId(id) != null;
+            } catch (EntidadeNaoEncontradaException e) {
+                return false;
+            }
+        }, ausente, ausente), true);
+        LocalDateTime horario = LocalDateTime.of(2030, 1, 7, 8, 0);
+        campo(sb, "agendarPacienteAusente", medir(id -> {
+            try {
+                return consultaService.agendarConsulta(id, 1, horario) != null;
+            } catch (EntidadeNaoEncontradaException e) {
+                return false;
+            }
+        }, ausente, ausente), false);
+        sb.append("}");
+
+        if (alocaram.length() > 0) {
+            throw new IllegalStateException("Buscas que deveriam ser livres de alocação alocaram memória: "
+                    + alocaram + "\n" + sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mede um caminho rápido com IDs existentes e ausentes e anota se ele alocou.
+     */
+    private void medirRapido(StringBuilder sb, StringBuilder alocaram, String nome, IntPredicate busca, int ausente) {
+        double existentes = medir(busca, 1, EXISTENTES);
+        double ausentes = medir(busca, ausente, ausente);
+        sb.append(String.format(Locale.ROOT, "  \"%s\": {\"existente\": %.3f, \"ausente\": %.3f},\n",
+                nome, existentes, ausentes));
+        // Menos de um byte por chamada: só o ruído fixo da própria medição
+        if (existentes >= 1 || ausentes >= 1) {
+            alocaram.append(alocaram.length() > 0 ? ", " : "").append(nome);
+        }
+    }
+
+    /**
+     * Bytes alocados por chamada, percorrendo os IDs de {@code primeiro} a {@code ultimo}.
+     */
+    private double medir(IntPredicate busca, int primeiro, int ultimo) {
+        int encontrados = executar(busca, primeiro, ultimo, AQUECIMENTO);
+        long thread = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(thread);
+        encontrados += executar(busca, primeiro, ultimo, chamadas);
+        long depois = threads.getThreadAllocatedBytes(thread);
+        if (encontrados < 0) {
+            throw new AssertionError(); // Mantém o resultado vivo para o JIT
+        }
+        return (depois - antes) / (double) chamadas;
+    }
+
+    private static int executar(IntPredicate busca, int primeiro, int ultimo, int vezes) {
+        int encontrados = 0;
+        int id = primeiro;
+        for (int i = 0; i < vezes; i++) {
+            if (busca.test(id)) {
+                encontrados++;
+            }
+            id = id == ultimo ? primeiro : id + 1;
+        }
+        return encontrados;
+    }
+
+    private static void campo(StringBuilder sb, String nome, double bytes, boolean virgula) {
+        sb.append(String.format(Locale.ROOT, "  \"%s\": %.1f%s\n", nome, bytes, virgula ? "," : ""));
+    }
+}
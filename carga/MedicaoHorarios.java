@@ -0,0 +1,112 @@
+package carga;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Mede o custo da data/hora das consultas: memória ocupada e tempo de ordenação.
+ *
+ * Cria {@code quantidade} consultas com horários da carga sintética (todas do mesmo paciente e
+ * médico, para que só a consulta e o seu horário entrem na conta) e mede:
+ * <ul>
+ *   <li>os bytes retidos por consulta, pela diferença do heap ocupado após coletas completas
+ *       (inclui a referência no array que as guarda);</li>
+ *   <li>o tempo de ordenar as consultas por data/hora com {@link Consulta#compararPorDataHora};</li>
+ *   <li>o tempo de contar as consultas de uma semana com {@link Consulta#estaEntre}.</li>
+ * </ul>
+ * Ordenação e contagem são repetidas e o menor tempo é informado. Execute com heap suficiente
+ * (por exemplo {@code -Xmx4g} para 10 milhões de consultas).
+ */
+public class MedicaoHorarios {
+
+    private static final int REPETICOES = 5;
+
+    private final int quantidade;
+    private final long semente;
+
+    /**
+     * @param quantidade Número de consultas criadas
+     * @param semente    Semente do gerador de horários
+     */
+    public MedicaoHorarios(int quantidade, long semente) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de consultas deve ser positiva.");
+        }
+        this.quantidade = quantidade;
+        this.semente = semente;
+    }
+
+    /**
+     * Executa a medição.
+     *
+     * @return Resultado em JSON (memória em bytes, tempos em milissegundos)
+     */
+    public String executar() {
+        GeradorDados gerador = new GeradorDados(semente, 90);
+        Paciente paciente = new Paciente("Paciente", "11999990000");
+        Medico medico = new Medico("Médico", "Clínica Geral");
+
+        long heapAntes = heapOcupado();
+        Consulta[] consultas = new Consulta[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            consultas[i] = new Consulta(paciente, medico, gerador.horario());
+            consultas[i].setId(i + 1);
+        }
+        long heapDepois = heapOcupado();
+
+        long ordenacao = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICOES; r++) {
+            Consulta[] copia = consultas.clone();
+            long inicio = System.nanoTime();
+            Arrays.sort(copia, Consulta::compararPorDataHora);
+            ordenacao = Math.min(ordenacao, System.nanoTime() - inicio);
+        }
+
+        int inicioSemana = Consulta.paraMinuto(GeradorDados.INICIO_JANELA.plusWeeks(4));
+        int fimSemana = Consulta.paraMinuto(GeradorDados.INICIO_JANELA.plusWeeks(5));
+        long contagem = Long.MAX_VALUE;
+        int naSemana = 0;
+        for (int r = 0; r < REPETICOES; r++) {
+            long inicio = System.nanoTime();
+            naSemana = 0;
+            for (Consulta consulta : consultas) {
+                if (consulta.estaEntre(inicioSemana, fimSemana)) {
+                    naSemana++;
+                }
+            }
+            contagem = Math.min(contagem, System.nanoTime() - inicio);
+        }
+
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\n");
+        sb.append(String.format(Locale.ROOT, "  \"consultas\": %d,\n", quantidade));
+        sb.append(String.format(Locale.ROOT, "  \"bytesPorConsulta\": %.1f,\n",
+                (heapDepois - heapAntes) / (double) quantidade));
+        sb.append(String.format(Locale.ROOT, "  \"ordenacaoMs\": %.1f,\n", ordenacao / 1e6));
+        sb.append(String.format(Locale.ROOT, "  \"contagemSemanaMs\": %.1f,\n", contagem / 1e6));
+        sb.append(String.format(Locale.ROOT, "  \"consultasNaSemana\": %d\n", naSemana));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Heap ocupado depois de algumas coletas completas (a JVM pode ignorar o pedido; por isso
+     * a medição repete as coletas até o valor se estabilizar).
+     */
+    private static long heapOcupado() {
+        Runtime runtime = Runtime.getRuntime();
+        long anterior = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long ocupado = runtime.totalMemory() - runtime.freeMemory();
+            if (ocupado >= anterior) {
+                return Math.min(ocupado, anterior);
+            }
+            anterior = ocupado;
+        }
+        return anterior;
+    }
+}
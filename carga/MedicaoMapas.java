@@ -0,0 +1,185 @@
+package carga;
+
+import colecao.ConjuntoInt;
+import colecao.MapaIntObjeto;
+import entidade.Paciente;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Compara o {@link MapaIntObjeto} com o {@code HashMap<Integer, ...>} que os repositórios
+ * usavam antes: memória ocupada, tempo de montagem e custo das buscas.
+ *
+ * Cria {@code pacientes} pacientes (fora da conta) e, para cada estrutura, mede:
+ * <ul>
+ *   <li>os bytes retidos por paciente, pela diferença do heap ocupado após coletas completas
+ *       (no {@code HashMap}, inclui os nós e as chaves {@code Integer});</li>
+ *   <li>o tempo de inserir todos os pacientes;</li>
+ *   <li>o tempo e os bytes alocados por busca, percorrendo todos os IDs, com o contador de
+ *       alocação da thread.</li>
+ * </ul>
+ * Também compara o índice por paciente do {@code ConsultaRepository} (duas consultas por
+ * paciente) com o equivalente em {@code HashMap<Integer, HashSet<Integer>>}. Cada estrutura é
+ * descartada antes da próxima. Execute com heap suficiente (por exemplo {@code -Xmx4g} para
+ * 5 milhões de pacientes).
+ */
+public class MedicaoMapas {
+
+    private static final int REPETICOES = 3;
+    private static final int CONSULTAS_POR_PACIENTE = 2;
+
+    private final int quantidade;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * @param quantidade Número de pacientes
+     */
+    public MedicaoMapas(int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de pacientes deve ser positiva.");
+        }
+        this.quantidade = quantidade;
+    }
+
+    /**
+     * Executa a medição.
+     *
+     * @return Resultado em JSON (memória em bytes, tempos em milissegundos e nanossegundos)
+     */
+    public String executar() {
+        Paciente[] pacientes = new Paciente[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            pacientes[i] = new Paciente("Paciente", "11999990000");
+            pacientes[i].setId(i + 1);
+        }
+
+        StringBuilder sb = new StringBuilder(1024).append("{\n");
+        sb.append(String.format(Locale.ROOT, "  \"pacientes\": %d,\n", quantidade));
+        medirMapaIntObjeto(sb, pacientes);
+        medirHashMap(sb, pacientes);
+        medirIndiceConjuntoInt(sb);
+        medirIndiceHashSet(sb);
+        sb.setLength(sb.length() - 2); // Tira a última vírgula
+        return sb.append("\n}").toString();
+    }
+
+    private void medirMapaIntObjeto(StringBuilder sb, Paciente[] pacientes) {
+        long heapAntes = heapOcupado();
+        long inicio = System.nanoTime();
+        MapaIntObjeto<Paciente> mapa = new MapaIntObjeto<>();
+        for (Paciente paciente : pacientes) {
+            mapa.put(paciente.getId(), paciente);
+        }
+        long montagem = System.nanoTime() - inicio;
+        long heapDepois = heapOcupado();
+        estrutura(sb, "mapaIntObjeto", heapDepois - heapAntes, montagem, id -> mapa.get(id) != null);
+    }
+
+    private void medirHashMap(StringBuilder sb, Paciente[] pacientes) {
+        long heapAntes = heapOcupado();
+        long inicio = System.nanoTime();
+        Map<Integer, Paciente> mapa = new HashMap<>();
+        for (Paciente paciente : pacientes) {
+            mapa.put(paciente.getId(), paciente);
+        }
+        long montagem = System.nanoTime() - inicio;
+        long heapDepois = heapOcupado();
+        estrutura(sb, "hashMap", heapDepois - heapAntes, montagem, id -> mapa.get(id) != null);
+    }
+
+    private void medirIndiceConjuntoInt(StringBuilder sb) {
+        long heapAntes = heapOcupado();
+        long inicio = System.nanoTime();
+        MapaIntObjeto<ConjuntoInt> indice = new MapaIntObjeto<>();
+        for (int id = 1; id <= quantidade; id++) {
+            ConjuntoInt ids = new ConjuntoInt(4); // Como no ConsultaRepository
+            for (int c = 0; c < CONSULTAS_POR_PACIENTE; c++) {
+                ids.add(id * CONSULTAS_POR_PACIENTE + c);
+            }
+            indice.put(id, ids);
+        }
+        long montagem = System.nanoTime() - inicio;
+        long heapDepois = heapOcupado();
+        estrutura(sb, "indiceConjuntoInt", heapDepois - heapAntes, montagem, id -> {
+            ConjuntoInt ids = indice.get(id);
+            return ids != null && ids.contains(id * CONSULTAS_POR_PACIENTE);
+        });
+    }
+
+    private void medirIndiceHashSet(StringBuilder sb) {
+        long heapAntes = heapOcupado();
+        long inicio = System.nanoTime();
+        Map<Integer, Set<Integer>> indice = new HashMap<>();
+        for (int id = 1; id <= quantidade; id++) {
+            Set<Integer> ids = new HashSet<>();
+            for (int c = 0; c < CONSULTAS_POR_PACIENTE; c++) {
+                ids.add(id * CONSULTAS_POR_PACIENTE + c);
+            }
+            indice.put(id, ids);
+        }
+        long montagem = System.nanoTime() - inicio;
+        long heapDepois = heapOcupado();
+        estrutura(sb, "indiceHashSet", heapDepois - heapAntes, montagem, id -> {
+            Set<Integer> ids = indice.get(id);
+            return ids != null && ids.contains(id * CONSULTAS_POR_PACIENTE);
+        });
+    }
+
+    /**
+     * Mede as buscas da estrutura já montada e escreve a sua linha no resultado.
+     */
+    private void estrutura(StringBuilder sb, String nome, long bytes, long montagemNanos, IntPredicate busca) {
+        buscar(busca); // Aquecimento
+        long thread = Thread.currentThread().getId();
+        long melhor = Long.MAX_VALUE;
+        long alocados = 0;
+        for (int r = 0; r < REPETICOES; r++) {
+            long antes = threads.getThreadAllocatedBytes(thread);
+            long inicio = System.nanoTime();
+            int encontrados = buscar(busca);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+            alocados = threads.getThreadAllocatedBytes(thread) - antes;
+            if (encontrados != quantidade) {
+                throw new IllegalStateException(nome + ": " + encontrados + " de " + quantidade + " encontrados.");
+            }
+        }
+        sb.append(String.format(Locale.ROOT,
+                "  \"%s\": {\"bytesPorPaciente\": %.1f, \"montagemMs\": %.1f, \"buscaNs\": %.1f, \"bytesPorBusca\": %.2f},\n",
+                nome, bytes / (double) quantidade, montagemNanos / 1e6,
+                melhor / (double) quantidade, alocados / (double) quantidade));
+    }
+
+    private int buscar(IntPredicate busca) {
+        int encontrados = 0;
+        for (int id = 1; id <= quantidade; id++) {
+            if (busca.test(id)) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Heap ocupado depois de algumas coletas completas (como em {@link MedicaoHorarios}).
+     */
+    private static long heapOcupado() {
+        Runtime runtime = Runtime.getRuntime();
+        long anterior = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long ocupado = runtime.totalMemory() - runtime.freeMemory();
+            if (ocupado >= anterior) {
+                return Math.min(ocupado, anterior);
+            }
+            anterior = ocupado;
+        }
+        return anterior;
+    }
+}
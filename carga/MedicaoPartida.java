@@ -0,0 +1,111 @@
+package carga;
+
+import pesquisa.PesquisaConsultas;
+import repositorio.ConsultaRepository;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.Locale;
+
+/**
+ * Mede a partida da aplicação, do lançamento da JVM até a primeira requisição atendida.
+ *
+ * A partida carrega os dados iniciais (como em {@link ExecutorCarga}, fazendo as vezes da
+ * leitura de um armazenamento), atende uma busca por ID e, em seguida, uma pesquisa por
+ * médico, que é a primeira leitura a precisar dos índices. Com índices imediatos, cada
+ * gravação da carga inicial já os atualiza (o comportamento anterior); com índices
+ * preguiçosos, eles só são montados na primeira pesquisa, de uma vez.
+ *
+ * Os tempos são medidos dentro do processo; o instante de lançamento vem da própria JVM.
+ * Para comparar com e sem CDS, execute a medição com e sem {@code -XX:SharedArchiveFile}.
+ */
+public class MedicaoPartida {
+
+    private final ConfiguracaoCarga config;
+    private final boolean indicesImediatos;
+
+    /**
+     * @param config           Quantidades de pacientes, médicos e consultas carregados
+     * @param indicesImediatos true para montar os índices antes da carga inicial
+     */
+    public MedicaoPartida(ConfiguracaoCarga config, boolean indicesImediatos) {
+        this.config = config;
+        this.indicesImediatos = indicesImediatos;
+    }
+
+    /**
+     * Executa a partida e retorna os tempos medidos.
+     *
+     * @param inicioMain Instante em que o método main começou ({@link System#currentTimeMillis()})
+     * @return Tempos em JSON, em milissegundos
+     */
+    public String executar(long inicioMain) {
+        long inicio = System.nanoTime();
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaRepository consultaRepository = new ConsultaRepository();
+        if (indicesImediatos) {
+            consultaRepository.construirIndices();
+        }
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService, consultaRepository);
+        new ExecutorCarga(config, pacienteService, medicoService, consultaService).popular();
+        long carregado = System.nanoTime();
+
+        // Primeira requisição: uma consulta buscada por ID e formatada para exibição
+        String resposta = String.valueOf(consultaService.buscarConsultaOuNulo(1));
+        long respondido = System.nanoTime();
+        long respondidoMillis = System.currentTimeMillis();
+
+        long resultados = consultaService.pesquisar(new PesquisaConsultas().doMedico(1).limitar(20)).count();
+        long pesquisado = System.nanoTime();
+
+        // Só depois das medições, para que carregar o pacote de gerenciamento não entre nelas
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        String arquivoCds = null;
+        for (String argumento : runtime.getInputArguments()) {
+            if (argumento.startsWith("-XX:SharedArchiveFile=")) {
+                arquivoCds = argumento.substring("-XX:SharedArchiveFile=".length());
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\n");
+        sb.append("  \"indices\": \"").append(indicesImediatos ? "imediatos" : "preguicosos").append("\",\n");
+        sb.append("  \"arquivoCds\": ").append(textoJson(arquivoCds)).append(",\n");
+        sb.append("  \"pacientes\": ").append(config.getPacientes()).append(",\n");
+        sb.append("  \"medicos\": ").append(config.getMedicos()).append(",\n");
+        sb.append("  \"consultas\": ").append(config.getConsultasIniciais()).append(",\n");
+        sb.append(String.format(Locale.ROOT, "  \"jvmAteMainMs\": %d,\n", inicioMain - runtime.getStartTime()));
+        sb.append(String.format(Locale.ROOT, "  \"carregamentoMs\": %.1f,\n", (carregado - inicio) / 1e6));
+        sb.append(String.format(Locale.ROOT, "  \"primeiraRespostaMs\": %d,\n", respondidoMillis - runtime.getStartTime()));
+        sb.append(String.format(Locale.ROOT, "  \"primeiraPesquisaMs\": %.1f,\n", (pesquisado - respondido) / 1e6));
+        sb.append("  \"resultadosPesquisa\": ").append(resultados).append(",\n");
+        sb.append("  \"tamanhoResposta\": ").append(resposta.length()).append('\n');
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Texto como literal JSON (ou null), escapando aspas, barras invertidas e caracteres de controle
+     * (caminhos do Windows, por exemplo, têm barras invertidas).
+     */
+    private static String textoJson(String texto) {
+        if (texto == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(texto.length() + 2).append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
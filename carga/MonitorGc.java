@@ -0,0 +1,133 @@
+package carga;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acompanha as coletas de lixo durante a medição.
+ *
+ * Os totais (coletas e tempo) vêm dos contadores dos coletores; a duração de cada pausa
+ * vem das notificações de fim de coleta emitidas pela JVM. Ciclos concorrentes (que não
+ * param a aplicação, como "ZGC Cycles" ou "G1 Concurrent GC") entram nos totais, mas
+ * não na lista de pausas.
+ */
+final class MonitorGc implements NotificationListener {
+
+    private final List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] coletasIniciais = new long[coletores.size()];
+    private final long[] tempoInicialMillis = new long[coletores.size()];
+
+    // Pausas observadas (protegidas por this: as notificações chegam numa thread da JVM)
+    private long pausas;
+    private long pausaMaximaMillis;
+    private long pausaTotalMillis;
+
+    private long coletas;
+    private long tempoTotalMillis;
+
+    /**
+     * Registra os totais atuais e passa a receber as notificações de coleta.
+     */
+    void iniciar() {
+        for (int i = 0; i < coletores.size(); i++) {
+            coletasIniciais[i] = Math.max(0, coletores.get(i).getCollectionCount());
+            tempoInicialMillis[i] = Math.max(0, coletores.get(i).getCollectionTime());
+            if (coletores.get(i) instanceof NotificationEmitter emissor) {
+                emissor.addNotificationListener(this, null, null);
+            }
+        }
+    }
+
+    /**
+     * Deixa de receber notificações e calcula os totais do período.
+     */
+    void parar() {
+        coletas = 0;
+        tempoTotalMillis = 0;
+        for (int i = 0; i < coletores.size(); i++) {
+            coletas += Math.max(0, coletores.get(i).getCollectionCount()) - coletasIniciais[i];
+            tempoTotalMillis += Math.max(0, coletores.get(i).getCollectionTime()) - tempoInicialMillis[i];
+            if (coletores.get(i) instanceof NotificationEmitter emissor) {
+                try {
+                    emissor.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Nada a remover
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notificacao, Object contexto) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacao.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notificacao.getUserData());
+        String nome = info.getGcName();
+        if (nome.contains("Cycles") || nome.contains("Concurrent")) {
+            return; // Ciclo concorrente: não é pausa da aplicação
+        }
+        long duracao = info.getGcInfo().getDuration();
+        synchronized (this) {
+            pausas++;
+            pausaTotalMillis += duracao;
+            pausaMaximaMillis = Math.max(pausaMaximaMillis, duracao);
+        }
+    }
+
+    /**
+     * @return Lista de nomes dos coletores em uso
+     */
+    List<String> getNomesColetores() {
+        List<String> nomes = new ArrayList<>();
+        for (GarbageCollectorMXBean coletor : coletores) {
+            nomes.add(coletor.getName());
+        }
+        return nomes;
+    }
+
+    /**
+     * @return Número de coletas no período
+     */
+    long getColetas() {
+        return coletas;
+    }
+
+    /**
+     * @return Tempo total gasto em coletas no período, em milissegundos
+     */
+    long getTempoTotalMillis() {
+        return tempoTotalMillis;
+    }
+
+    /**
+     * @return Número de pausas observadas
+     */
+    synchronized long getPausas() {
+        return pausas;
+    }
+
+    /**
+     * @return Maior pausa observada, em milissegundos
+     */
+    synchronized long getPausaMaximaMillis() {
+        return pausaMaximaMillis;
+    }
+
+    /**
+     * @return Soma das pausas observadas, em milissegundos
+     */
+    synchronized long getPausaTotalMillis() {
+        return pausaTotalMillis;
+    }
+}
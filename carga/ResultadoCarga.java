@@ -0,0 +1,122 @@
+package carga;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução de {@link ExecutorCarga}, exportado em JSON.
+ *
+ * Latências são informadas em microssegundos, memória em MiB e tempos de coleta em
+ * milissegundos. O JSON tem ordem de campos fixa para facilitar comparações entre execuções.
+ */
+public class ResultadoCarga {
+
+    private static final double MIB = 1024.0 * 1024.0;
+
+    private final ConfiguracaoCarga config;
+    private final long populacaoNanos;
+    private final long duracaoNanos;
+    private final HistogramaLatencia leituras;
+    private final HistogramaLatencia escritas;
+    private final long erros;
+    private final long heapAntes;
+    private final long heapDepois;
+    private final long heapPico;
+    private final long heapMaximo;
+    private final MonitorGc gc;
+    private final int consultasFinais;
+
+    ResultadoCarga(ConfiguracaoCarga config, long populacaoNanos, long duracaoNanos,
+                   HistogramaLatencia leituras, HistogramaLatencia escritas, long erros,
+                   long heapAntes, long heapDepois, long heapPico, long heapMaximo,
+                   MonitorGc gc, int consultasFinais) {
+        this.config = config;
+        this.populacaoNanos = populacaoNanos;
+        this.duracaoNanos = duracaoNanos;
+        this.leituras = leituras;
+        this.escritas = escritas;
+        this.erros = erros;
+        this.heapAntes = heapAntes;
+        this.heapDepois = heapDepois;
+        this.heapPico = heapPico;
+        this.heapMaximo = heapMaximo;
+        this.gc = gc;
+        this.consultasFinais = consultasFinais;
+    }
+
+    /**
+     * @return Operações medidas por segundo (leituras e escritas)
+     */
+    public double getOperacoesPorSegundo() {
+        long total = leituras.getTotal() + escritas.getTotal();
+        return duracaoNanos <= 0 ? 0 : total * 1e9 / duracaoNanos;
+    }
+
+    /**
+     * @return Número de operações que lançaram exceção
+     */
+    public long getErros() {
+        return erros;
+    }
+
+    /**
+     * @return O resultado completo em JSON
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n  \"configuracao\": {");
+        boolean primeiro = true;
+        for (Map.Entry<String, Object> entrada : config.comoMapa().entrySet()) {
+            Object valor = entrada.getValue();
+            sb.append(primeiro ? "" : ", ").append('"').append(entrada.getKey()).append("\": ")
+                    .append(valor instanceof String ? "\"" + valor + "\"" : valor);
+            primeiro = false;
+        }
+        sb.append("},\n");
+        campo(sb, "populacaoMs", populacaoNanos / 1e6);
+        campo(sb, "duracaoMs", duracaoNanos / 1e6);
+        campo(sb, "operacoes", leituras.getTotal() + escritas.getTotal());
+        campo(sb, "operacoesPorSegundo", getOperacoesPorSegundo());
+        campo(sb, "erros", erros);
+        campo(sb, "consultasFinais", consultasFinais);
+        sb.append("  \"latenciaMicros\": {\n");
+        latencias(sb, "leitura", leituras);
+        sb.append(",\n");
+        latencias(sb, "escrita", escritas);
+        sb.append("\n  },\n");
+        sb.append("  \"heapMiB\": {");
+        sb.append(String.format(Locale.ROOT, "\"antes\": %.1f, \"depois\": %.1f, \"pico\": %.1f, \"maximo\": %.1f",
+                heapAntes / MIB, heapDepois / MIB, heapPico / MIB, heapMaximo < 0 ? -1 : heapMaximo / MIB));
+        sb.append("},\n");
+        sb.append("  \"gc\": {\"coletores\": [");
+        primeiro = true;
+        for (String nome : gc.getNomesColetores()) {
+            sb.append(primeiro ? "" : ", ").append('"').append(nome).append('"');
+            primeiro = false;
+        }
+        sb.append(String.format(Locale.ROOT,
+                "], \"coletas\": %d, \"tempoTotalMs\": %d, \"pausas\": %d, \"pausaTotalMs\": %d, \"pausaMaximaMs\": %d}\n",
+                gc.getColetas(), gc.getTempoTotalMillis(), gc.getPausas(), gc.getPausaTotalMillis(), gc.getPausaMaximaMillis()));
+        return sb.append("}").toString();
+    }
+
+    private static void campo(StringBuilder sb, String nome, double valor) {
+        sb.append("  \"").append(nome).append("\": ").append(String.format(Locale.ROOT, "%.1f", valor)).append(",\n");
+    }
+
+    private static void campo(StringBuilder sb, String nome, long valor) {
+        sb.append("  \"").append(nome).append("\": ").append(valor).append(",\n");
+    }
+
+    private static void latencias(StringBuilder sb, String nome, HistogramaLatencia h) {
+        sb.append(String.format(Locale.ROOT,
+                "    \"%s\": {\"n\": %d, \"media\": %.2f, \"p50\": %.2f, \"p90\": %.2f, \"p99\": %.2f, \"p999\": %.2f, \"max\": %.2f}",
+                nome, h.getTotal(), h.getMedia() / 1e3, h.percentil(50) / 1e3, h.percentil(90) / 1e3,
+                h.percentil(99) / 1e3, h.percentil(99.9) / 1e3, h.getMaximo() / 1e3));
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
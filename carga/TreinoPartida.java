@@ -0,0 +1,83 @@
+package carga;
+
+import entidade.Consulta;
+import lote.ExecutorLote;
+import pesquisa.PesquisaConsultas;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+import template.Menu;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Execução de treino para gerar um arquivo de CDS (class data sharing) da aplicação.
+ *
+ * O treino passa pelos caminhos usados na partida e no uso normal (cadastros, agendamentos,
+ * pesquisas, painel, modo em lote, formatação e as classes do menu), sem interação e sem
+ * imprimir nada além de um resumo. Executado com {@code -XX:ArchiveClassesAtExit=arquivo.jsa},
+ * a JVM grava ao sair todas as classes carregadas; as execuções seguintes com
+ * {@code -XX:SharedArchiveFile=arquivo.jsa} as mapeiam prontas, em vez de lê-las e verificá-las.
+ */
+public class TreinoPartida {
+
+    // Dimensões pequenas: o objetivo é carregar as classes, não medir
+    private static final String[] CONFIGURACAO = {
+            "pacientes=2000", "medicos=50", "consultas=5000", "operacoes=20000", "aquecimento=0", "threads=2"
+    };
+
+    /**
+     * Executa o treino.
+     *
+     * @return Resumo com o número de classes carregadas
+     * @throws InterruptedException Se a thread for interrompida durante a carga sintética
+     * @throws IOException          Se o modo em lote falhar ao ler os comandos
+     */
+    public String executar() throws InterruptedException, IOException {
+        long inicio = System.nanoTime();
+        ConfiguracaoCarga config = ConfiguracaoCarga.deArgumentos(CONFIGURACAO, 0);
+
+        // Carga sintética: serviços, repositórios, índices e o resultado em JSON
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+        new ExecutorCarga(config, pacienteService, medicoService, consultaService).executar().toJson();
+
+        // Pesquisas, painel e formatação usados pelo menu
+        LocalDateTime inicioJanela = GeradorDados.INICIO_JANELA;
+        consultaService.explicar(new PesquisaConsultas().doMedico(1).comStatus(Consulta.Status.AGENDADA));
+        consultaService.pesquisar(new PesquisaConsultas().entre(inicioJanela, inicioJanela.plusDays(7))
+                .nomePacienteComecaCom("A").limitar(50)).forEach(c -> c.anexarEm(new StringBuilder()));
+        consultaService.listarConsultasPorPeriodo(inicioJanela, inicioJanela.plusDays(1));
+        consultaService.painel().contarPorMedicoNoDia(1, LocalDate.from(inicioJanela));
+        consultaService.verificarPainel();
+        pacienteService.listarPacientes().forEach(p -> p.anexarEm(new StringBuilder()));
+        medicoService.listarMedicos().forEach(m -> m.anexarEm(new StringBuilder()));
+
+        // Modo em lote, com o pipeline assíncrono
+        String comandos = "paciente;Maria Souza;11999990000\n"
+                + "medico;Dr. João;Cardiologia\n"
+                + "agendar;1;1;2026-10-19 14:30\n"
+                + "status;1;REALIZADA\n"
+                + "reagendar;1;2026-10-20 09:00\n"
+                + "deletar-consulta;1\n";
+        new ExecutorLote(pacienteService, medicoService, consultaService, 16)
+                .executar(new ByteArrayInputStream(comandos.getBytes(StandardCharsets.UTF_8)));
+        consultaService.encerrarAgendamentoAssincrono();
+
+        // Classes do menu (criado, mas não exibido)
+        new Menu(pacienteService, medicoService, consultaService);
+
+        // A própria medição de partida, em escala reduzida
+        new MedicaoPartida(config, false).executar(System.currentTimeMillis());
+
+        return String.format("Treino concluído em %d ms: %d classes carregadas",
+                (System.nanoTime() - inicio) / 1_000_000,
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    }
+}
@@ -0,0 +1,79 @@
+package carga;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Executa a carga sintética variando o número de clínicas da rede e de threads, para ver
+ * se a vazão cresce com as partições.
+ *
+ * Cada combinação é uma execução completa de {@link ExecutorCarga} (população, aquecimento e
+ * medição) com dados novos; combinações com mais clínicas do que threads são puladas, pois
+ * deixariam clínicas sem trabalho. Uma primeira execução, descartada, aquece a JVM para que
+ * a combinação de referência não pague a compilação de todos os caminhos. Os demais parâmetros vêm da linha de comando, como em
+ * {@code --carga}. A aceleração é relativa a uma clínica com uma thread, e a eficiência é a
+ * aceleração dividida pelo número de threads (1 = crescimento linear). O resultado só faz
+ * sentido com tantos processadores quanto threads: o número disponível vai junto no JSON.
+ */
+public class VarreduraClinicas {
+
+    private static final int[] CLINICAS = {1, 2, 4, 8};
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    private final String[] argumentos;
+
+    /**
+     * @param argumentos Parâmetros de carga {@code chave=valor} comuns a todas as execuções
+     *                   ({@code clinicas} e {@code threads} são substituídos)
+     */
+    public VarreduraClinicas(String[] argumentos) {
+        this.argumentos = argumentos.clone();
+        ConfiguracaoCarga.deArgumentos(this.argumentos, 0); // Falha já aqui se algum for inválido
+    }
+
+    /**
+     * Executa todas as combinações.
+     *
+     * @return Vazão de cada combinação, em JSON
+     * @throws InterruptedException Se a thread for interrompida durante alguma execução
+     */
+    public String executar() throws InterruptedException {
+        StringBuilder sb = new StringBuilder(1024).append("{\n");
+        sb.append(String.format(Locale.ROOT, "  \"processadores\": %d,\n", Runtime.getRuntime().availableProcessors()));
+        sb.append("  \"execucoes\": [\n");
+        ExecutorCarga.criar(configuracao(CLINICAS[CLINICAS.length - 1], THREADS[THREADS.length - 1])).executar();
+        double base = 0;
+        boolean primeira = true;
+        for (int clinicas : CLINICAS) {
+            for (int threads : THREADS) {
+                if (clinicas > threads) {
+                    continue;
+                }
+                System.gc(); // Não deixa o lixo da execução anterior para esta
+                ResultadoCarga resultado = ExecutorCarga.criar(configuracao(clinicas, threads)).executar();
+                double vazao = resultado.getOperacoesPorSegundo();
+                if (base == 0) {
+                    base = vazao;
+                }
+                sb.append(primeira ? "" : ",\n");
+                sb.append(String.format(Locale.ROOT,
+                        "    {\"clinicas\": %d, \"threads\": %d, \"operacoesPorSegundo\": %.1f, "
+                                + "\"aceleracao\": %.2f, \"eficiencia\": %.2f, \"erros\": %d}",
+                        clinicas, threads, vazao, vazao / base, vazao / base / threads, resultado.getErros()));
+                primeira = false;
+            }
+        }
+        return sb.append("\n  ]\n}").toString();
+    }
+
+    /**
+     * Configuração de uma combinação: os argumentos comuns seguidos de clínicas e threads
+     * (o último valor de cada chave prevalece).
+     */
+    private ConfiguracaoCarga configuracao(int clinicas, int threads) {
+        String[] args = Arrays.copyOf(argumentos, argumentos.length + 2);
+        args[argumentos.length] = "clinicas=" + clinicas;
+        args[argumentos.length + 1] = "threads=" + threads;
+        return ConfiguracaoCarga.deArgumentos(args, 0);
+    }
+}
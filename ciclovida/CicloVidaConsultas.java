@@ -0,0 +1,285 @@
+package ciclovida;
+
+import colecao.MapaIntObjeto;
+import entidade.Consulta;
+import evento.Assinante;
+import evento.BarramentoEventos;
+import evento.EventoConsulta;
+import evento.TipoAlteracao;
+import servico.ConsultaService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor de ciclo de vida que encerra automaticamente as consultas AGENDADAS vencidas.
+ *
+ * O motor mantém sua própria fila de prioridade das consultas AGENDADAS, ordenada
+ * pelo horário em que vencem (data/hora da consulta mais a tolerância), e a mantém
+ * atualizada pelo barramento de eventos do {@link ConsultaService}. Cada varredura
+ * só visita o início da fila, ou seja, as consultas que já venceram, e altera o status
+ * de cada uma pelo próprio serviço, sem bloquear as demais escritas. Se o barramento
+ * descartar eventos por fila cheia, a fila é ressincronizada com todas as consultas.
+ */
+public class CicloVidaConsultas {
+
+    // Número máximo de consultas tratadas por varredura
+    public static final int LIMITE_POR_VARREDURA = 1000;
+
+    // Tempo padrão após o horário da consulta antes de encerrá-la
+    public static final Duration TOLERANCIA_PADRAO = Duration.ofHours(1);
+
+    // Intervalo padrão entre as varreduras em segundo plano
+    public static final Duration INTERVALO_PADRAO = Duration.ofMinutes(1);
+
+    /**
+     * Entrada da fila: minuto de vencimento e ID da consulta.
+     */
+    private static final class Vencimento implements Comparable<Vencimento> {
+        final long minuto;
+        final int idConsulta;
+
+        Vencimento(long minuto, int idConsulta) {
+            this.minuto = minuto;
+            this.idConsulta = idConsulta;
+        }
+
+        @Override
+        public int compareTo(Vencimento outro) {
+            return Long.compare(minuto, outro.minuto);
+        }
+    }
+
+    private final ConsultaService consultaService;
+    private final Duration tolerancia;
+    private final RegraCicloVida regra;
+
+    // Fila por vencimento; entradas antigas são descartadas ao serem retiradas
+    private final PriorityQueue<Vencimento> fila = new PriorityQueue<>();
+
+    // Entrada atual da fila de cada consulta acompanhada, pelo ID da consulta
+    private final MapaIntObjeto<Vencimento> vencimentos = new MapaIntObjeto<>();
+
+    // Consultas cuja alteração lançou exceção durante uma varredura
+    private final AtomicLong falhas = new AtomicLong();
+
+    private final BarramentoEventos<EventoConsulta>.Inscricao inscricao;
+    private ScheduledExecutorService varredor;
+
+    /**
+     * Cria o motor com a tolerância padrão e a regra padrão, que marca as consultas vencidas
+     * como NAO_COMPARECEU (quem compareceu tem a consulta marcada como REALIZADA antes disso).
+     *
+     * @param consultaService Serviço cujas consultas serão acompanhadas
+     */
+    public CicloVidaConsultas(ConsultaService consultaService) {
+        this(consultaService, TOLERANCIA_PADRAO, RegraCicloVida.marcarNaoComparecimento());
+    }
+
+    /**
+     * Cria o motor e carrega as consultas AGENDADAS já existentes.
+     *
+     * @param consultaService Serviço cujas consultas serão acompanhadas
+     * @param tolerancia      Tempo após o horário da consulta antes de aplicar a regra
+     * @param regra           Regra que decide o status final das consultas vencidas
+     */
+    public CicloVidaConsultas(ConsultaService consultaService, Duration tolerancia, RegraCicloVida regra) {
+        this.consultaService = consultaService;
+        this.tolerancia = tolerancia;
+        this.regra = regra;
+
+        // Inscreve antes de carregar as consultas existentes para não perder alterações
+        this.inscricao = consultaService.eventos().inscrever("ciclo-vida", new Assinante<EventoConsulta>() {
+            @Override
+            public void receber(List<? extends EventoConsulta> lote) {
+                aoReceber(lote);
+            }
+
+            @Override
+            public void ressincronizar() {
+                recarregar();
+            }
+        });
+        recarregar();
+    }
+
+    /**
+     * Passa a acompanhar a consulta se ela estiver AGENDADA, ou deixa de acompanhá-la caso contrário.
+     *
+     * @param consulta Consulta a sincronizar
+     */
+    public synchronized void acompanhar(Consulta consulta) {
+        if (consulta.getStatus() != Consulta.Status.AGENDADA) {
+            vencimentos.remove(consulta.getId());
+            return;
+        }
+        long minuto = consulta.getMinuto() + tolerancia.toMinutes();
+        Vencimento atual = vencimentos.get(consulta.getId());
+        if (atual == null || atual.minuto != minuto) {
+            Vencimento novo = new Vencimento(minuto, consulta.getId());
+            vencimentos.put(consulta.getId(), novo);
+            fila.add(novo);
+        }
+    }
+
+    /**
+     * Aplica a regra às consultas que venceram até o horário informado.
+     * Só as consultas vencidas são visitadas, e no máximo {@code limite} delas.
+     *
+     * @param agora  Horário de referência
+     * @param limite Número máximo de consultas tratadas nesta varredura
+     * @return Número de consultas cujo status foi alterado
+     */
+    public int varrer(LocalDateTime agora, int limite) {
+        long minutoAgora = minuto(agora);
+        List<Integer> vencidas = new ArrayList<>();
+        synchronized (this) {
+            while (vencidas.size() < limite && !fila.isEmpty() && fila.peek().minuto <= minutoAgora) {
+                Vencimento v = fila.poll();
+                if (vencimentos.get(v.idConsulta) == v) { // Ignora entradas de reagendamentos anteriores
+                    vencimentos.remove(v.idConsulta);
+                    vencidas.add(v.idConsulta);
+                }
+            }
+        }
+
+        // As alterações são feitas fora do bloqueio, uma consulta por vez. A troca de status é
+        // condicional: uma consulta alterada por outra thread depois desta leitura é preservada.
+        int alteradas = 0;
+        for (int id : vencidas) {
+            try {
+                Consulta consulta = consultaService.buscarConsultaOuNulo(id);
+                if (consulta == null || consulta.getStatus() != Consulta.Status.AGENDADA) {
+                    continue; // Removida ou já encerrada depois de entrar na fila
+                }
+                if (consulta.getMinuto() + tolerancia.toMinutes() > minutoAgora) {
+                    acompanhar(consulta); // Foi reagendada depois de entrar na fila
+                    continue;
+                }
+                Consulta.Status novo = regra.statusFinal(consulta);
+                if (novo != null && novo != Consulta.Status.AGENDADA
+                        && consultaService.transicionarStatus(id, Consulta.Status.AGENDADA, novo)) {
+                    alteradas++;
+                }
+            } catch (RuntimeException e) {
+                // Uma falha (ex.: na regra) não interrompe a varredura nem o agendamento periódico
+                falhas.incrementAndGet();
+            }
+        }
+        return alteradas;
+    }
+
+    /**
+     * Inicia a varredura em segundo plano com o horário real.
+     *
+     * @param intervalo Intervalo entre as varreduras
+     */
+    public synchronized void iniciar(Duration intervalo) {
+        if (varredor == null) {
+            varredor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ciclo-vida-consultas");
+                t.setDaemon(true);
+                return t;
+            });
+            varredor.scheduleWithFixedDelay(this::varrerTudo, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Para a varredura em segundo plano e deixa de acompanhar o barramento de eventos.
+     */
+    public synchronized void encerrar() {
+        if (varredor != null) {
+            varredor.shutdownNow();
+            varredor = null;
+        }
+        inscricao.cancelar();
+    }
+
+    /**
+     * Espera o motor aplicar as alterações de consultas já publicadas no barramento.
+     * Usado com o relógio simulado, antes de varrer.
+     *
+     * @param limiteMillis Tempo máximo de espera
+     * @return true se todas as alterações publicadas até a chamada foram aplicadas
+     * @throws InterruptedException Se a thread for interrompida durante a espera
+     */
+    public boolean aguardarEventos(long limiteMillis) throws InterruptedException {
+        return inscricao.aguardarEntrega(limiteMillis);
+    }
+
+    /**
+     * @return Número de consultas AGENDADAS acompanhadas
+     */
+    public synchronized int getAcompanhadas() {
+        return vencimentos.size();
+    }
+
+    /**
+     * @return Número de consultas cuja alteração lançou exceção (elas deixam de ser acompanhadas
+     *         até o próximo evento que as altere)
+     */
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    /**
+     * Varre em fatias até não restarem consultas vencidas.
+     */
+    private void varrerTudo() {
+        LocalDateTime agora = LocalDateTime.now();
+        do {
+            varrer(agora, LIMITE_POR_VARREDURA);
+            Thread.yield(); // Dá vez às demais threads entre as fatias
+        } while (temVencidas(agora));
+    }
+
+    private synchronized boolean temVencidas(LocalDateTime agora) {
+        return !fila.isEmpty() && fila.peek().minuto <= minuto(agora);
+    }
+
+    /**
+     * Trata um lote de eventos do barramento de consultas.
+     */
+    private void aoReceber(List<? extends EventoConsulta> lote) {
+        for (EventoConsulta evento : lote) {
+            if (evento.getTipo() == TipoAlteracao.REMOCAO) {
+                synchronized (this) {
+                    vencimentos.remove(evento.getIdEntidade());
+                }
+            } else {
+                acompanhar(evento.getEntidade());
+            }
+        }
+    }
+
+    /**
+     * Acompanha todas as consultas do serviço e deixa de acompanhar as que não existem mais.
+     */
+    private void recarregar() {
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            acompanhar(consulta);
+        }
+        synchronized (this) {
+            for (Vencimento v : vencimentos.valores()) {
+                if (!consultaService.existeConsulta(v.idConsulta)) {
+                    vencimentos.remove(v.idConsulta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converte uma data/hora no número de minutos desde a época.
+     */
+    private static long minuto(LocalDateTime dataHora) {
+        return Consulta.paraMinuto(dataHora);
+    }
+}
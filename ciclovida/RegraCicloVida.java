@@ -0,0 +1,48 @@
+package ciclovida;
+
+import entidade.Consulta;
+
+import java.util.Map;
+
+/**
+ * Regra que decide o status final de uma consulta AGENDADA cujo horário já passou.
+ */
+@FunctionalInterface
+public interface RegraCicloVida {
+
+    /**
+     * Decide o novo status de uma consulta vencida.
+     *
+     * @param consulta Consulta AGENDADA cujo horário (mais a tolerância) já passou
+     * @return Novo status, ou null para deixar a consulta como está
+     */
+    Consulta.Status statusFinal(Consulta consulta);
+
+    /**
+     * @return Regra que marca toda consulta vencida como NAO_COMPARECEU
+     */
+    static RegraCicloVida marcarNaoComparecimento() {
+        return consulta -> Consulta.Status.NAO_COMPARECEU;
+    }
+
+    /**
+     * @return Regra que encerra toda consulta vencida como REALIZADA
+     */
+    static RegraCicloVida encerrarComoRealizada() {
+        return consulta -> Consulta.Status.REALIZADA;
+    }
+
+    /**
+     * Cria uma regra que escolhe o status pela especialidade do médico.
+     *
+     * @param porEspecialidade Status final de cada especialidade
+     * @param padrao           Regra usada para especialidades não mapeadas
+     * @return A regra composta
+     */
+    static RegraCicloVida porEspecialidade(Map<String, Consulta.Status> porEspecialidade, RegraCicloVida padrao) {
+        return consulta -> {
+            Consulta.Status status = porEspecialidade.get(consulta.getMedico().getEspecialidade());
+            return status != null ? status : padrao.statusFinal(consulta);
+        };
+    }
+}
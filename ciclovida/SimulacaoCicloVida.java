@@ -0,0 +1,208 @@
+package ciclovida;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Simulação de uma semana do ciclo de vida em tempo acelerado, com verificação do resultado.
+ *
+ * A simulação agenda consultas ao longo da semana (algumas já vencidas no início) e avança
+ * um relógio simulado de 15 em 15 minutos, chamando {@link CicloVidaConsultas#varrer} a cada
+ * passo. A cada hora, parte das consultas ainda não vencidas é marcada como REALIZADA,
+ * cancelada, reagendada ou removida pelo serviço. Antes de cada varredura a simulação espera
+ * o motor aplicar os eventos publicados, para que o resultado não dependa do escalonamento
+ * das threads.
+ *
+ * Depois de cada varredura, confere que:
+ * <ul>
+ *   <li>toda consulta AGENDADA cujo horário mais a tolerância já passou foi marcada como
+ *       NAO_COMPARECEU;</li>
+ *   <li>nenhuma consulta ainda não vencida mudou de status;</li>
+ *   <li>consultas realizadas ou canceladas manualmente mantiveram o seu status e consultas
+ *       removidas continuam removidas;</li>
+ *   <li>o número de consultas alteradas pelas varreduras é o de consultas vencidas.</li>
+ * </ul>
+ */
+public class SimulacaoCicloVida {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2030, 1, 7, 0, 0); // Segunda-feira
+    private static final int MINUTOS_SEMANA = 7 * 24 * 60;
+    private static final int PASSO_MINUTOS = 15;
+    private static final long ESPERA_EVENTOS_MILLIS = 10_000;
+
+    private final int consultas;
+    private final long semente;
+
+    // Estado esperado, pelo ID da consulta
+    private final Map<Integer, Consulta.Status> alteradasManualmente = new HashMap<>();
+    private final Set<Integer> removidas = new HashSet<>();
+    private long agora;
+
+    /**
+     * @param consultas Número de consultas agendadas
+     * @param semente   Semente do gerador pseudoaleatório (mesma semente, mesma simulação)
+     */
+    public SimulacaoCicloVida(int consultas, long semente) {
+        this.consultas = consultas;
+        this.semente = semente;
+    }
+
+    /**
+     * Executa a simulação.
+     *
+     * @return Resumo da semana simulada
+     * @throws IllegalStateException Se alguma verificação falhar
+     * @throws InterruptedException  Se a thread for interrompida esperando os eventos
+     */
+    public String executar() throws InterruptedException {
+        long inicioReal = System.nanoTime();
+        Random random = new Random(semente);
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+        Medico medico = medicoService.cadastrarMedico("Dra. Simulação", "Clínica Geral");
+        Paciente paciente = pacienteService.cadastrarPaciente("Paciente Simulado", "11999990000");
+
+        long minutoInicio = Consulta.paraMinuto(INICIO);
+        long tolerancia = CicloVidaConsultas.TOLERANCIA_PADRAO.toMinutes();
+        agora = minutoInicio;
+
+        // Metade das consultas já existe quando o motor é criado; a outra metade chega por eventos
+        List<Integer> ids = new ArrayList<>(consultas);
+        for (int i = 0; i < consultas / 2; i++) {
+            ids.add(agendar(consultaService, paciente, medico, random));
+        }
+        CicloVidaConsultas ciclo = new CicloVidaConsultas(consultaService);
+        for (int i = consultas / 2; i < consultas; i++) {
+            ids.add(agendar(consultaService, paciente, medico, random));
+            if (i % 1000 == 0) {
+                aguardar(ciclo); // Não enche a fila do motor no barramento
+            }
+        }
+
+        int alteradas = 0;
+        for (int minuto = 0; minuto <= MINUTOS_SEMANA; minuto += PASSO_MINUTOS) {
+            agora = minutoInicio + minuto;
+            if (minuto % 60 == 0) {
+                alterar(consultaService, ids, random, tolerancia);
+            }
+            aguardar(ciclo);
+            alteradas += ciclo.varrer(Consulta.paraDataHora((int) agora), Integer.MAX_VALUE);
+            verificar(consultaService, tolerancia);
+        }
+        ciclo.encerrar();
+
+        int vencidas = 0;
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            if (consulta.getStatus() == Consulta.Status.NAO_COMPARECEU) {
+                vencidas++;
+            }
+        }
+        if (alteradas != vencidas || ciclo.getFalhas() != 0) {
+            throw new IllegalStateException("As varreduras alteraram " + alteradas + " consultas para "
+                    + vencidas + " vencidas (" + ciclo.getFalhas() + " falhas).");
+        }
+        return String.format("Semana simulada em %d ms: %d consultas, %d encerradas como não comparecimento, "
+                        + "%d alteradas manualmente, %d removidas, nenhuma divergência",
+                (System.nanoTime() - inicioReal) / 1_000_000, consultas, vencidas,
+                alteradasManualmente.size(), removidas.size());
+    }
+
+    /**
+     * Agenda uma consulta; no início da simulação, uma em cada dez já começa vencida.
+     */
+    private int agendar(ConsultaService consultaService, Paciente paciente, Medico medico, Random random) {
+        LocalDateTime horario = random.nextInt(10) == 0
+                ? INICIO.minusMinutes(1 + random.nextInt(24 * 60))
+                : horarioFuturo(random);
+        return consultaService.agendarConsulta(paciente.getId(), medico.getId(), horario).getId();
+    }
+
+    /**
+     * Altera algumas consultas que ainda não venceram, como fariam os usuários.
+     */
+    private void alterar(ConsultaService consultaService, List<Integer> ids, Random random, long tolerancia) {
+        int alteracoes = Math.max(1, consultas / 1000);
+        for (int i = 0; i < alteracoes; i++) {
+            int id = ids.get(random.nextInt(ids.size()));
+            Consulta consulta = consultaService.buscarConsultaOuNulo(id);
+            if (consulta == null || consulta.getStatus() != Consulta.Status.AGENDADA
+                    || consulta.getMinuto() + tolerancia <= agora) {
+                continue;
+            }
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    consultaService.atualizarStatusConsulta(id, Consulta.Status.REALIZADA);
+                    alteradasManualmente.put(id, Consulta.Status.REALIZADA);
+                }
+                case 1 -> {
+                    consultaService.atualizarStatusConsulta(id, Consulta.Status.CANCELADA);
+                    alteradasManualmente.put(id, Consulta.Status.CANCELADA);
+                }
+                case 2 -> consultaService.reagendarConsulta(id, horarioFuturo(random));
+                default -> {
+                    consultaService.deletarConsulta(id);
+                    removidas.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Horário entre o minuto seguinte ao relógio simulado e o fim da semana.
+     */
+    private LocalDateTime horarioFuturo(Random random) {
+        long minutoInicio = Consulta.paraMinuto(INICIO);
+        long restante = minutoInicio + MINUTOS_SEMANA - agora;
+        return INICIO.plusMinutes(agora - minutoInicio + 1 + (long) (random.nextDouble() * restante));
+    }
+
+    private static void aguardar(CicloVidaConsultas ciclo) throws InterruptedException {
+        if (!ciclo.aguardarEventos(ESPERA_EVENTOS_MILLIS)) {
+            throw new IllegalStateException("O motor de ciclo de vida não aplicou os eventos em "
+                    + ESPERA_EVENTOS_MILLIS + " ms.");
+        }
+    }
+
+    /**
+     * Confere o status de todas as consultas contra o esperado no horário simulado atual.
+     */
+    private void verificar(ConsultaService consultaService, long tolerancia) {
+        List<String> divergencias = new ArrayList<>();
+        for (int id : removidas) {
+            if (consultaService.existeConsulta(id)) {
+                divergencias.add("consulta " + id + ": removida, mas ainda existe");
+            }
+        }
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            Consulta.Status esperado = alteradasManualmente.get(consulta.getId());
+            if (esperado == null) {
+                esperado = consulta.getMinuto() + tolerancia <= agora
+                        ? Consulta.Status.NAO_COMPARECEU
+                        : Consulta.Status.AGENDADA;
+            }
+            if (consulta.getStatus() != esperado) {
+                divergencias.add("consulta " + consulta.getId() + " às " + consulta.getDataHora() + ": "
+                        + consulta.getStatus() + " em vez de " + esperado);
+            }
+        }
+        if (!divergencias.isEmpty()) {
+            throw new IllegalStateException(divergencias.size() + " divergência(s) às "
+                    + Consulta.paraDataHora((int) agora) + ", ex.: "
+                    + divergencias.subList(0, Math.min(5, divergencias.size())));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package colecao;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de valores {@code int} com endereçamento aberto e sondagem linear.
+ *
+ * Os elementos ficam num único {@code int[]}; a posição vazia é marcada com zero e a
+ * presença do próprio zero é guardada à parte. Adicionar, remover e consultar não alocam
+ * (exceto ao crescer). Como em {@link MapaIntObjeto}, cada instância espalha os valores com
+ * o seu próprio multiplicador. A classe não é thread-safe.
+ *
+ * Ao contrário do mapa, a capacidade mínima é de 4 posições: o conjunto é usado como
+ * lista de IDs de cada chave dos índices, e a maioria dessas listas é pequena.
+ */
+public final class ConjuntoInt {
+
+    private static final int VAZIO = 0;
+    private static final int CAPACIDADE_MINIMA = 4;
+
+    private final int multiplicador = MapaIntObjeto.novoMultiplicador();
+    private int[] elementos;
+    private int mascara;
+    private int deslocamento;
+    private int tamanho;      // Sem contar o zero
+    private int limite;
+    private boolean temZero;
+
+    public ConjuntoInt() {
+        this(16);
+    }
+
+    /**
+     * @param capacidadeEsperada Número de elementos esperado (evita redimensionamentos)
+     */
+    public ConjuntoInt(int capacidadeEsperada) {
+        alocar(MapaIntObjeto.capacidadeParaTamanho(capacidadeEsperada, CAPACIDADE_MINIMA));
+    }
+
+    /**
+     * @return true se o valor foi adicionado (não estava presente)
+     */
+    public boolean add(int valor) {
+        if (valor == VAZIO) {
+            boolean novo = !temZero;
+            temZero = true;
+            return novo;
+        }
+        int i = posicao(valor);
+        int atual;
+        while ((atual = elementos[i]) != VAZIO) {
+            if (atual == valor) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        elementos[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(elementos.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return true se o valor estiver presente
+     */
+    public boolean contains(int valor) {
+        if (valor == VAZIO) {
+            return temZero;
+        }
+        int i = posicao(valor);
+        int atual;
+        while ((atual = elementos[i]) != VAZIO) {
+            if (atual == valor) {
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * @return true se o valor foi removido (estava presente)
+     */
+    public boolean remove(int valor) {
+        if (valor == VAZIO) {
+            boolean existia = temZero;
+            temZero = false;
+            return existia;
+        }
+        int i = posicao(valor);
+        int atual;
+        while ((atual = elementos[i]) != VAZIO) {
+            if (atual == valor) {
+                deslocarParaTras(i);
+                tamanho--;
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * @return Número de elementos
+     */
+    public int size() {
+        return tamanho + (temZero ? 1 : 0);
+    }
+
+    /**
+     * @return true se o conjunto estiver vazio
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove todos os elementos, mantendo a capacidade atual.
+     */
+    public void clear() {
+        Arrays.fill(elementos, VAZIO);
+        tamanho = 0;
+        temZero = false;
+    }
+
+    /**
+     * Executa a ação para cada elemento, na ordem interna da tabela.
+     */
+    public void forEach(IntConsumer acao) {
+        if (temZero) {
+            acao.accept(VAZIO);
+        }
+        for (int elemento : elementos) {
+            if (elemento != VAZIO) {
+                acao.accept(elemento);
+            }
+        }
+    }
+
+    /**
+     * @return Cópia dos elementos, na ordem interna da tabela
+     */
+    public int[] toArray() {
+        int[] copia = new int[size()];
+        int j = 0;
+        if (temZero) {
+            copia[j++] = VAZIO;
+        }
+        for (int elemento : elementos) {
+            if (elemento != VAZIO) {
+                copia[j++] = elemento;
+            }
+        }
+        return copia;
+    }
+
+    private void deslocarParaTras(int livre) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            int elemento = elementos[i];
+            if (elemento == VAZIO) {
+                break;
+            }
+            int ideal = posicao(elemento);
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                elementos[livre] = elemento;
+                livre = i;
+            }
+        }
+        elementos[livre] = VAZIO;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] antigos = elementos;
+        alocar(novaCapacidade);
+        for (int elemento : antigos) {
+            if (elemento != VAZIO) {
+                int i = posicao(elemento);
+                while (elementos[i] != VAZIO) {
+                    i = (i + 1) & mascara;
+                }
+                elementos[i] = elemento;
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        elementos = new int[capacidade];
+        mascara = capacidade - 1;
+        deslocamento = 32 - Integer.numberOfTrailingZeros(capacidade);
+        limite = (int) (capacidade * 0.7);
+    }
+
+    private int posicao(int valor) {
+        return (valor * multiplicador) >>> deslocamento;
+    }
+}
@@ -0,0 +1,238 @@
+package colecao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mapa de chaves {@code int} para objetos, com endereçamento aberto e sondagem linear.
+ *
+ * As chaves ficam num {@code int[]} e os valores num {@code Object[]} paralelo, sem
+ * {@code Integer} nem nós de entrada: buscar e inserir não alocam (exceto ao crescer).
+ * Uma posição está livre quando o seu valor é null, por isso valores null não são aceitos.
+ * A remoção desloca as entradas seguintes para trás, sem deixar marcadores de remoção.
+ *
+ * O espalhamento é multiplicativo com um multiplicador próprio de cada instância (ver
+ * {@link #novoMultiplicador()}): percorrer uma tabela e inserir na ordem dela em outra não
+ * amontoa as entradas, o que aconteceria se todas usassem o mesmo multiplicador.
+ *
+ * A classe não é thread-safe.
+ *
+ * @param <V> Tipo dos valores
+ */
+public final class MapaIntObjeto<V> {
+
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    // Contador de instâncias, de onde saem os multiplicadores (a mesma execução produz as mesmas tabelas)
+    private static final AtomicInteger INSTANCIAS = new AtomicInteger();
+
+    private final int multiplicador = novoMultiplicador();
+    private int[] chaves;
+    private Object[] valores;
+    private int mascara;
+    private int deslocamento;
+    private int tamanho;
+    private int limite; // Tamanho a partir do qual a tabela dobra (70% de ocupação)
+
+    public MapaIntObjeto() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    /**
+     * @param capacidadeEsperada Número de entradas esperado (evita redimensionamentos)
+     */
+    public MapaIntObjeto(int capacidadeEsperada) {
+        alocar(capacidadeParaTamanho(capacidadeEsperada, CAPACIDADE_MINIMA));
+    }
+
+    /**
+     * @return O valor associado à chave, ou null se não existir
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int chave) {
+        int i = posicao(chave);
+        Object valor;
+        while ((valor = valores[i]) != null) {
+            if (chaves[i] == chave) {
+                return (V) valor;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * @return true se a chave estiver presente
+     */
+    public boolean containsKey(int chave) {
+        return get(chave) != null;
+    }
+
+    /**
+     * Associa o valor à chave.
+     *
+     * @param chave Chave
+     * @param valor Valor (não pode ser null)
+     * @return O valor anterior, ou null se a chave não existia
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int chave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("MapaIntObjeto não aceita valores null.");
+        }
+        int i = posicao(chave);
+        Object atual;
+        while ((atual = valores[i]) != null) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return (V) atual;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(valores.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a chave.
+     *
+     * @return O valor removido, ou null se a chave não existia
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int chave) {
+        int i = posicao(chave);
+        Object atual;
+        while ((atual = valores[i]) != null) {
+            if (chaves[i] == chave) {
+                deslocarParaTras(i);
+                tamanho--;
+                return (V) atual;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * @return Número de entradas
+     */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * @return true se o mapa estiver vazio
+     */
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Remove todas as entradas, mantendo a capacidade atual.
+     */
+    public void clear() {
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+
+    /**
+     * @return Cópia dos valores, na ordem interna da tabela
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> valores() {
+        List<V> lista = new ArrayList<>(tamanho);
+        for (Object valor : valores) {
+            if (valor != null) {
+                lista.add((V) valor);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Preenche a posição liberada em {@code livre} com as entradas seguintes do mesmo agrupamento.
+     */
+    private void deslocarParaTras(int livre) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == null) {
+                break;
+            }
+            int ideal = posicao(chaves[i]);
+            // A entrada só pode ir para "livre" se "livre" estiver entre a posição ideal e i (circularmente)
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                chaves[livre] = chaves[i];
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        valores[livre] = null;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        alocar(novaCapacidade);
+        for (int j = 0; j < valoresAntigos.length; j++) {
+            if (valoresAntigos[j] != null) {
+                int i = posicao(chavesAntigas[j]);
+                while (valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chavesAntigas[j];
+                valores[i] = valoresAntigos[j];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        valores = new Object[capacidade];
+        mascara = capacidade - 1;
+        deslocamento = 32 - Integer.numberOfTrailingZeros(capacidade);
+        limite = (int) (capacidade * 0.7);
+    }
+
+    /**
+     * Posição ideal da chave: os bits altos do produto pelo multiplicador, que dependem de
+     * todos os bits da chave e espalham também IDs sequenciais ou particionados.
+     */
+    private int posicao(int chave) {
+        return (chave * multiplicador) >>> deslocamento;
+    }
+
+    /**
+     * Multiplicador ímpar pseudoaleatório para uma nova tabela, tirado do contador de
+     * instâncias pela finalização do MurmurHash3. Com um multiplicador fixo (o de Fibonacci),
+     * a ordem interna de uma tabela era a ordem das posições na outra, e copiar de uma para
+     * outra enchia a destino da primeira posição em diante, em sondagens cada vez mais longas.
+     */
+    static int novoMultiplicador() {
+        int h = INSTANCIAS.getAndIncrement() ^ 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+
+    /**
+     * Menor potência de 2 que guarda {@code tamanho} entradas abaixo de 70% de ocupação,
+     * respeitando a capacidade mínima informada.
+     */
+    static int capacidadeParaTamanho(int tamanho, int capacidadeMinima) {
+        int minimo = Math.max(capacidadeMinima, (int) Math.ceil(tamanho / 0.7));
+        if (minimo > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidade muito grande: " + tamanho);
+        }
+        return Integer.highestOneBit(minimo - 1) << 1;
+    }
+}
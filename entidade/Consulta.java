@@ -1,143 +1,275 @@
-package entidade;
-
-import java.time.LocalDateTime;
-
-/**
- * Representa uma consulta médica no sistema.
- * Contém informações sobre paciente, médico, data/hora e status da consulta.
- */
-public class Consulta {
-
-    /**
-     * Define os possíveis estados de uma consulta médica.
-     */
-    public enum Status {
-        AGENDADA,    // Consulta marcada mas não realizada
-        REALIZADA,    // Consulta concluída
-        CANCELADA     // Consulta cancelada
-    }
-
-    // Atributos da entidade
-    private int id;
-    private Paciente paciente;
-    private Medico medico;
-    private LocalDateTime dataHora;
-    private Status status;
-
-    /**
-     * Construtor para criação de novas consultas.
-     * O status é automaticamente definido como AGENDADA.
-     *
-     * @param paciente Paciente da consulta
-     * @param medico   Médico responsável
-     * @param dataHora Data e hora agendadas
-     */
-    public Consulta(Paciente paciente, Medico medico, LocalDateTime dataHora) {
-        this.paciente = paciente;
-        this.medico = medico;
-        this.dataHora = dataHora;
-        this.status = Status.AGENDADA;  // Status padrão
-    }
-
-    // ============= MÉTODOS DE ACESSO (GETTERS) =============
-
-    /**
-     * @return ID único da consulta
-     */
-    public int getId() {
-        return id;
-    }
-
-    /**
-     * @return Data e hora agendadas
-     */
-    public LocalDateTime getDataHora() {
-        return dataHora;
-    }
-
-    /**
-     * @return Paciente atendido
-     */
-    public Paciente getPaciente() {
-        return paciente;
-    }
-
-    /**
-     * @return Status atual da consulta
-     */
-    public Status getStatus() {
-        return status;
-    }
-
-    /**
-     * @return Médico responsável
-     */
-    public Medico getMedico() {
-        return medico;
-    }
-
-    // ============= MÉTODOS DE MODIFICAÇÃO (SETTERS) =============
-
-    /**
-     * Altera o paciente da consulta.
-     *
-     * @param paciente Novo paciente
-     */
-    public void setPaciente(Paciente paciente) {
-        this.paciente = paciente;
-    }
-
-    /**
-     * Altera o médico responsável.
-     *
-     * @param medico Novo médico
-     */
-    public void setMedico(Medico medico) {
-        this.medico = medico;
-    }
-
-    /**
-     * Reagenda a data/hora da consulta.
-     *
-     * @param dataHora Nova data/hora
-     */
-    public void setDataHora(LocalDateTime dataHora) {
-        this.dataHora = dataHora;
-    }
-
-    /**
-     * Define o ID da consulta (usado pelo repositório).
-     *
-     * @param id Novo ID
-     */
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    /**
-     * Atualiza o status da consulta.
-     *
-     * @param status Novo status (AGENDADA, REALIZADA ou CANCELADA)
-     */
-    public void setStatus(Status status) {
-        this.status = status;
-    }
-
-    // ============= REPRESENTAÇÃO TEXTUAL =============
-
-    /**
-     * Retorna os dados da consulta formatados como string.
-     *
-     * @return String formatada com informações da consulta
-     */
-    @Override
-    public String toString() {
-        return "Consulta{" +
-                "id=" + id +
-                ", paciente=" + paciente.getNome() +
-                ", medico=" + medico.getNome() +
-                ", dataHora=" + dataHora +
-                ", status=" + status +
-                '}';
-    }
-}
+package entidade;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Representa uma consulta médica no sistema.
+ * Contém informações sobre paciente, médico, data/hora e status da consulta.
+ *
+ * A data/hora é guardada como número de minutos desde 1970-01-01T00:00 (um {@code int}),
+ * em vez de um {@link LocalDateTime}: ocupa 4 bytes em vez de três objetos e permite
+ * ordenar e filtrar consultas comparando inteiros. A precisão é de minutos; segundos
+ * e frações são descartados.
+ */
+public class Consulta {
+
+    /**
+     * Define os possíveis estados de uma consulta médica.
+     */
+    public enum Status {
+        AGENDADA,    // Consulta marcada mas não realizada
+        REALIZADA,    // Consulta concluída
+        CANCELADA,    // Consulta cancelada
+        NAO_COMPARECEU // Paciente não compareceu (marcado automaticamente após o horário)
+    }
+
+    // Atributos da entidade
+    private int id;
+    private Paciente paciente;
+    private Medico medico;
+    private int minuto; // Minutos desde 1970-01-01T00:00
+    private Status status;
+
+    /**
+     * Construtor para criação de novas consultas.
+     * O status é automaticamente definido como AGENDADA.
+     *
+     * @param paciente Paciente da consulta
+     * @param medico   Médico responsável
+     * @param dataHora Data e hora agendadas
+     */
+    public Consulta(Paciente paciente, Medico medico, LocalDateTime dataHora) {
+        this(paciente, medico, paraMinuto(dataHora));
+    }
+
+    /**
+     * Construtor que recebe a data/hora já convertida em minutos desde a época.
+     *
+     * @param paciente Paciente da consulta
+     * @param medico   Médico responsável
+     * @param minuto   Data e hora agendadas, em minutos desde 1970-01-01T00:00
+     */
+    public Consulta(Paciente paciente, Medico medico, int minuto) {
+        this.paciente = paciente;
+        this.medico = medico;
+        this.minuto = minuto;
+        this.status = Status.AGENDADA;  // Status padrão
+    }
+
+    // ============= MÉTODOS DE ACESSO (GETTERS) =============
+
+    /**
+     * @return ID único da consulta
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Data e hora agendadas
+     */
+    public LocalDateTime getDataHora() {
+        return paraDataHora(minuto);
+    }
+
+    /**
+     * @return Data e hora agendadas, em minutos desde 1970-01-01T00:00
+     */
+    public int getMinuto() {
+        return minuto;
+    }
+
+    /**
+     * @return Paciente atendido
+     */
+    public Paciente getPaciente() {
+        return paciente;
+    }
+
+    /**
+     * @return Status atual da consulta
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Médico responsável
+     */
+    public Medico getMedico() {
+        return medico;
+    }
+
+    // ============= MÉTODOS DE MODIFICAÇÃO (SETTERS) =============
+
+    /**
+     * Altera o paciente da consulta.
+     *
+     * @param paciente Novo paciente
+     */
+    public void setPaciente(Paciente paciente) {
+        this.paciente = paciente;
+    }
+
+    /**
+     * Altera o médico responsável.
+     *
+     * @param medico Novo médico
+     */
+    public void setMedico(Medico medico) {
+        this.medico = medico;
+    }
+
+    /**
+     * Reagenda a data/hora da consulta.
+     *
+     * @param dataHora Nova data/hora
+     */
+    public void setDataHora(LocalDateTime dataHora) {
+        this.minuto = paraMinuto(dataHora);
+    }
+
+    /**
+     * Reagenda a data/hora da consulta, informada em minutos desde a época.
+     *
+     * @param minuto Nova data/hora, em minutos desde 1970-01-01T00:00
+     */
+    public void setMinuto(int minuto) {
+        this.minuto = minuto;
+    }
+
+    /**
+     * Define o ID da consulta (usado pelo repositório).
+     *
+     * @param id Novo ID
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Atualiza o status da consulta.
+     *
+     * @param status Novo status (AGENDADA, REALIZADA, CANCELADA ou NAO_COMPARECEU)
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    // ============= DATA/HORA COMPACTA =============
+
+    /**
+     * Verifica se a consulta está no intervalo [inicio, fim), sem criar objetos.
+     *
+     * @param inicio Primeiro minuto do intervalo (inclusivo)
+     * @param fim    Minuto final do intervalo (exclusivo)
+     * @return true se a data/hora da consulta estiver no intervalo
+     */
+    public boolean estaEntre(int inicio, int fim) {
+        return minuto >= inicio && minuto < fim;
+    }
+
+    /**
+     * Compara duas consultas pela data/hora e, em caso de empate, pelo ID.
+     * Pode ser usado como {@code Comparator<Consulta>} ({@code Consulta::compararPorDataHora}).
+     *
+     * @return Negativo, zero ou positivo, como em {@link java.util.Comparator#compare}
+     */
+    public static int compararPorDataHora(Consulta a, Consulta b) {
+        int porMinuto = Integer.compare(a.minuto, b.minuto);
+        return porMinuto != 0 ? porMinuto : Integer.compare(a.id, b.id);
+    }
+
+    /**
+     * Converte uma data/hora em minutos desde 1970-01-01T00:00 (segundos são descartados).
+     *
+     * @param dataHora Data/hora a converter
+     * @return Minutos desde a época
+     * @throws IllegalArgumentException Se a data/hora estiver fora do intervalo representável
+     */
+    public static int paraMinuto(LocalDateTime dataHora) {
+        long minutos = Math.floorDiv(dataHora.toEpochSecond(ZoneOffset.UTC), 60);
+        if (minutos < Integer.MIN_VALUE || minutos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Data/hora fora do intervalo suportado: " + dataHora);
+        }
+        return (int) minutos;
+    }
+
+    /**
+     * Converte minutos desde 1970-01-01T00:00 de volta em data/hora.
+     *
+     * @param minuto Minutos desde a época
+     * @return Data/hora correspondente
+     */
+    public static LocalDateTime paraDataHora(int minuto) {
+        return LocalDateTime.ofEpochSecond(minuto * 60L, 0, ZoneOffset.UTC);
+    }
+
+    // ============= REPRESENTAÇÃO TEXTUAL =============
+
+    /**
+     * Retorna os dados da consulta formatados como string.
+     *
+     * @return String formatada com informações da consulta
+     */
+    @Override
+    public String toString() {
+        return anexarEm(new StringBuilder(96)).toString();
+    }
+
+    /**
+     * Escreve a mesma representação de {@link #toString()} no final do buffer,
+     * sem criar strings intermediárias nem o {@link LocalDateTime} (usado nas listagens grandes).
+     *
+     * @param sb Buffer de destino
+     * @return O próprio buffer, para encadeamento
+     */
+    public StringBuilder anexarEm(StringBuilder sb) {
+        sb.append("Consulta{id=").append(id)
+                .append(", paciente=").append(paciente.getNome())
+                .append(", medico=").append(medico.getNome())
+                .append(", dataHora=");
+        anexarDataHora(sb, minuto);
+        return sb.append(", status=").append(status).append('}');
+    }
+
+    /**
+     * Escreve a data/hora no formato de {@link LocalDateTime#toString()} (yyyy-MM-ddTHH:mm),
+     * calculando ano, mês e dia diretamente a partir dos minutos.
+     */
+    private static void anexarDataHora(StringBuilder sb, int minuto) {
+        long dias = Math.floorDiv(minuto, 1440);
+        int minutoDoDia = Math.floorMod(minuto, 1440);
+
+        // Conversão de dias desde a época para data civil (calendário gregoriano proléptico)
+        long z = dias + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long diaDaEra = z - era * 146097;
+        long anoDaEra = (diaDaEra - diaDaEra / 1460 + diaDaEra / 36524 - diaDaEra / 146096) / 365;
+        long diaDoAno = diaDaEra - (365 * anoDaEra + anoDaEra / 4 - anoDaEra / 100);
+        long mp = (5 * diaDoAno + 2) / 153;
+        int dia = (int) (diaDoAno - (153 * mp + 2) / 5 + 1);
+        int mes = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long ano = anoDaEra + era * 400 + (mes <= 2 ? 1 : 0);
+
+        if (ano < 0 || ano > 9999) {
+            sb.append(paraDataHora(minuto)); // Formato especial do LocalDateTime para anos fora de 0000-9999
+            return;
+        }
+        anexarDigitos(sb, (int) ano, 4).append('-');
+        anexarDigitos(sb, mes, 2).append('-');
+        anexarDigitos(sb, dia, 2).append('T');
+        anexarDigitos(sb, minutoDoDia / 60, 2).append(':');
+        anexarDigitos(sb, minutoDoDia % 60, 2);
+    }
+
+    private static StringBuilder anexarDigitos(StringBuilder sb, int valor, int digitos) {
+        for (int limite = 10, i = 1; i < digitos; i++, limite *= 10) {
+            if (valor < limite) {
+                sb.append('0');
+            }
+        }
+        return sb.append(valor);
+    }
+}
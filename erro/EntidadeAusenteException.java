@@ -0,0 +1,67 @@
+package erro;
+
+/**
+ * Variante leve de {@link EntidadeNaoEncontradaException} para ausências esperadas,
+ * como a validação de IDs vindos de integrações.
+ *
+ * Não captura a pilha de chamadas e só monta a mensagem quando ela é lida, de modo
+ * que lançá-la custa apenas a criação de um objeto pequeno. Continua sendo uma
+ * {@link EntidadeNaoEncontradaException}, então os tratamentos existentes não mudam.
+ */
+public class EntidadeAusenteException extends EntidadeNaoEncontradaException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String prefixo;
+    private final int id;
+    private final String sufixo;
+    private String mensagem; // Montada no primeiro getMessage()
+
+    /**
+     * @param prefixo Texto antes do ID na mensagem
+     * @param id      ID procurado
+     * @param sufixo  Texto depois do ID na mensagem
+     */
+    public EntidadeAusenteException(String prefixo, int id, String sufixo) {
+        super(null, false);
+        this.prefixo = prefixo;
+        this.id = id;
+        this.sufixo = sufixo;
+    }
+
+    /**
+     * @return Exceção para paciente inexistente
+     */
+    public static EntidadeAusenteException paciente(int id) {
+        return new EntidadeAusenteException("Paciente não encontrado com ID: ", id, "");
+    }
+
+    /**
+     * @return Exceção para médico inexistente
+     */
+    public static EntidadeAusenteException medico(int id) {
+        return new EntidadeAusenteException("Médico com ID ", id, " não encontrado.");
+    }
+
+    /**
+     * @return Exceção para consulta inexistente
+     */
+    public static EntidadeAusenteException consulta(int id) {
+        return new EntidadeAusenteException("Consulta com ID ", id, " não encontrada.");
+    }
+
+    /**
+     * @return ID que não foi encontrado
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        if (mensagem == null) {
+            mensagem = prefixo + id + sufixo;
+        }
+        return mensagem;
+    }
+}
@@ -1,19 +1,31 @@
-package erro;
-
-/**
- * Exceção personalizada para indicar que uma entidade não foi encontrada no sistema.
- *
- * Esta exceção é utilizada quando uma operação tenta acessar uma entidade
- * (como Paciente, Médico ou Consulta) que não existe no repositório
- */
-public class EntidadeNaoEncontradaException extends RuntimeException {
-
-    /**
-     * Construtor que recebe uma mensagem personalizada para a exceção.
-     *
-     * @param msg Mensagem explicando qual entidade não foi encontrada.
-     */
-    public EntidadeNaoEncontradaException(String msg) {
-        super(msg);
-    }
-}
+package erro;
+
+/**
+ * Exceção personalizada para indicar que uma entidade não foi encontrada no sistema.
+ *
+ * Esta exceção é utilizada quando uma operação tenta acessar uma entidade
+ * (como Paciente, Médico ou Consulta) que não existe no repositório
+ */
+public class EntidadeNaoEncontradaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor que recebe uma mensagem personalizada para a exceção.
+     *
+     * @param msg Mensagem explicando qual entidade não foi encontrada.
+     */
+    public EntidadeNaoEncontradaException(String msg) {
+        super(msg);
+    }
+
+    /**
+     * Construtor para subclasses que podem dispensar a captura da pilha de chamadas.
+     *
+     * @param msg       Mensagem explicando qual entidade não foi encontrada (pode ser null).
+     * @param comPilha  false para não capturar a pilha de chamadas (mais barato).
+     */
+    protected EntidadeNaoEncontradaException(String msg, boolean comPilha) {
+        super(msg, null, false, comPilha);
+    }
+}
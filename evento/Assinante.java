@@ -0,0 +1,39 @@
+package evento;
+
+import java.util.List;
+
+/**
+ * Assinante de um {@link BarramentoEventos}.
+ *
+ * Os eventos são entregues em lotes, na ordem de publicação, por uma thread
+ * exclusiva do assinante. Se a fila do assinante transbordar, ele é avisado por
+ * {@link #ressincronizar()}.
+ *
+ * @param <E> Tipo de evento recebido
+ */
+@FunctionalInterface
+public interface Assinante<E> {
+
+    /**
+     * Processa um lote de eventos.
+     *
+     * @param lote Eventos publicados desde a última entrega (nunca vazio)
+     * @throws Exception Falhas são contadas na inscrição e não afetam quem publica
+     */
+    void receber(List<? extends E> lote) throws Exception;
+
+    /**
+     * Chamado, pela mesma thread de entrega, depois que eventos destinados a este assinante
+     * foram descartados por fila cheia. O assinante deve reconstruir o que deriva dos eventos
+     * a partir do estado atual da fonte; os eventos que ainda chegarem depois disso continuam
+     * sendo entregues e devem poder ser aplicados de novo sem efeito.
+     *
+     * A implementação padrão não faz nada, o que só serve a assinantes sem estado derivado
+     * (ex.: registro de auditoria, que apenas fica com lacunas contadas em
+     * {@link BarramentoEventos.Inscricao#getDescartados()}).
+     *
+     * @throws Exception Falhas são contadas na inscrição e não afetam quem publica
+     */
+    default void ressincronizar() throws Exception {
+    }
+}
@@ -0,0 +1,236 @@
+package evento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Barramento de eventos em processo usado pelos serviços para publicar alterações.
+ *
+ * Cada inscrição tem sua própria fila limitada e sua própria thread de entrega.
+ * A publicação nunca bloqueia: se a fila de um assinante lento estiver cheia, o
+ * evento é descartado para aquele assinante e contado em {@link Inscricao#getDescartados()},
+ * e a inscrição fica marcada como transbordada. Depois de entregar o que está na fila, a
+ * thread de entrega chama {@link Assinante#ressincronizar()} uma vez, para que o assinante
+ * reconstrua o seu estado a partir da fonte em vez de seguir sem os eventos perdidos. Como a
+ * marca pode ser posta logo depois de a thread esvaziar a fila, a thread nunca espera mais que
+ * alguns milissegundos por um evento sem rever a marca.
+ * Exceções lançadas pelo assinante são contadas em {@link Inscricao#getFalhas()}.
+ *
+ * Os serviços publicam cada alteração enquanto ainda seguram o bloqueio da entidade
+ * alterada, então os eventos de uma mesma entidade chegam na ordem em que foram aplicados.
+ *
+ * @param <E> Tipo de evento publicado
+ */
+public class BarramentoEventos<E> {
+
+    // Capacidade padrão da fila de cada assinante
+    public static final int CAPACIDADE_PADRAO = 4096;
+
+    // Número máximo de eventos entregues numa única chamada ao assinante
+    private static final int TAMANHO_LOTE = 256;
+
+    // Espera máxima da thread de entrega por um evento antes de rever a marca de transbordamento
+    private static final long ESPERA_EVENTO_MILLIS = 50;
+
+    private final String nome;
+    private final List<Inscricao> inscricoes = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param nome Nome do barramento (usado no nome das threads de entrega)
+     */
+    public BarramentoEventos(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Inscreve um assinante com a capacidade de fila padrão.
+     *
+     * @param nomeAssinante Nome do assinante
+     * @param assinante     Assinante que receberá os eventos
+     * @return A inscrição criada
+     */
+    public Inscricao inscrever(String nomeAssinante, Assinante<? super E> assinante) {
+        return inscrever(nomeAssinante, assinante, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Inscreve um assinante e inicia sua thread de entrega.
+     *
+     * @param nomeAssinante Nome do assinante
+     * @param assinante     Assinante que receberá os eventos
+     * @param capacidade    Número máximo de eventos pendentes para este assinante
+     * @return A inscrição criada
+     */
+    public Inscricao inscrever(String nomeAssinante, Assinante<? super E> assinante, int capacidade) {
+        Inscricao inscricao = new Inscricao(nomeAssinante, assinante, capacidade);
+        inscricoes.add(inscricao);
+        inscricao.thread.start();
+        return inscricao;
+    }
+
+    /**
+     * @return true se houver ao menos um assinante ativo
+     */
+    public boolean temAssinantes() {
+        return !inscricoes.isEmpty();
+    }
+
+    /**
+     * Publica um evento para todos os assinantes, sem bloquear.
+     *
+     * @param evento Evento a ser publicado
+     */
+    public void publicar(E evento) {
+        for (Inscricao inscricao : inscricoes) {
+            if (inscricao.fila.offer(evento)) {
+                inscricao.aceitos.incrementAndGet();
+            } else {
+                inscricao.descartados.incrementAndGet(); // Assinante lento: descarta e pede ressincronização
+                inscricao.transbordada = true;
+            }
+        }
+    }
+
+    /**
+     * Inscrição de um assinante no barramento.
+     */
+    public final class Inscricao {
+
+        private final String nomeAssinante;
+        private final Assinante<? super E> assinante;
+        private final BlockingQueue<E> fila;
+        private final Thread thread;
+        private final AtomicLong aceitos = new AtomicLong();
+        private final AtomicLong processados = new AtomicLong(); // Entregues ou perdidos em lotes com falha
+        private final AtomicLong entregues = new AtomicLong();
+        private final AtomicLong descartados = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private final AtomicLong ressincronizacoes = new AtomicLong();
+        private volatile boolean transbordada;
+        private volatile boolean ativa = true;
+
+        private Inscricao(String nomeAssinante, Assinante<? super E> assinante, int capacidade) {
+            this.nomeAssinante = nomeAssinante;
+            this.assinante = assinante;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+            this.thread = new Thread(this::entregar, nome + "-" + nomeAssinante);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Laço de entrega: espera o primeiro evento e junta ao lote os que já estiverem na fila.
+         * Se algum evento foi descartado, pede a ressincronização do assinante após o lote.
+         */
+        private void entregar() {
+            List<E> lote = new ArrayList<>(TAMANHO_LOTE);
+            while (ativa) {
+                E primeiro;
+                try {
+                    primeiro = fila.poll(ESPERA_EVENTO_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break; // Inscrição cancelada
+                }
+                if (primeiro != null) {
+                    lote.add(primeiro);
+                    fila.drainTo(lote, TAMANHO_LOTE - 1);
+                    try {
+                        assinante.receber(lote);
+                        entregues.addAndGet(lote.size());
+                    } catch (Exception e) {
+                        falhas.incrementAndGet();
+                    }
+                    processados.addAndGet(lote.size());
+                    lote.clear();
+                }
+
+                // A marca pode ser posta depois de a fila ter sido esvaziada: sem evento novo,
+                // ela é vista ao fim da espera acima
+                if (transbordada) {
+                    transbordada = false;
+                    ressincronizacoes.incrementAndGet();
+                    try {
+                        assinante.ressincronizar();
+                    } catch (Exception e) {
+                        falhas.incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Cancela a inscrição. Eventos ainda pendentes na fila são descartados.
+         */
+        public void cancelar() {
+            ativa = false;
+            inscricoes.remove(this);
+            thread.interrupt();
+        }
+
+        /**
+         * Espera o assinante terminar de processar os eventos que já estavam na fila no momento
+         * da chamada (útil em simulações e verificações, para observar um estado estável).
+         *
+         * @param limiteMillis Tempo máximo de espera
+         * @return true se todos foram processados; false se o limite esgotou ou a inscrição foi cancelada
+         * @throws InterruptedException Se a thread for interrompida durante a espera
+         */
+        public boolean aguardarEntrega(long limiteMillis) throws InterruptedException {
+            long alvo = aceitos.get();
+            long prazo = System.nanoTime() + limiteMillis * 1_000_000;
+            while (processados.get() < alvo) {
+                if (!ativa || System.nanoTime() - prazo >= 0) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+            return true;
+        }
+
+        /**
+         * @return Nome do assinante
+         */
+        public String getNomeAssinante() {
+            return nomeAssinante;
+        }
+
+        /**
+         * @return Número de eventos entregues com sucesso
+         */
+        public long getEntregues() {
+            return entregues.get();
+        }
+
+        /**
+         * @return Número de eventos descartados por fila cheia
+         */
+        public long getDescartados() {
+            return descartados.get();
+        }
+
+        /**
+         * @return Número de vezes em que o assinante foi ressincronizado após descartes
+         */
+        public long getRessincronizacoes() {
+            return ressincronizacoes.get();
+        }
+
+        /**
+         * @return Número de lotes ou ressincronizações em que o assinante lançou exceção
+         */
+        public long getFalhas() {
+            return falhas.get();
+        }
+
+        /**
+         * @return Número de eventos aguardando entrega
+         */
+        public int getPendentes() {
+            return fila.size();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package evento;
+
+/**
+ * Evento publicado quando uma entidade é criada, atualizada ou removida.
+ *
+ * O evento guarda uma referência para a própria entidade, e não uma cópia:
+ * quem o receber depois de outras alterações verá os dados mais recentes.
+ *
+ * @param <T> Tipo da entidade alterada
+ */
+public class EventoAlteracao<T> {
+
+    private final TipoAlteracao tipo;
+    private final int idEntidade;
+    private final T entidade;
+    private final long instante; // Momento da publicação (epoch em milissegundos)
+
+    /**
+     * @param tipo       Tipo da alteração
+     * @param idEntidade ID da entidade alterada
+     * @param entidade   Entidade alterada
+     */
+    public EventoAlteracao(TipoAlteracao tipo, int idEntidade, T entidade) {
+        this.tipo = tipo;
+        this.idEntidade = idEntidade;
+        this.entidade = entidade;
+        this.instante = System.currentTimeMillis();
+    }
+
+    /**
+     * @return Tipo da alteração
+     */
+    public TipoAlteracao getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return ID da entidade alterada
+     */
+    public int getIdEntidade() {
+        return idEntidade;
+    }
+
+    /**
+     * @return Entidade alterada
+     */
+    public T getEntidade() {
+        return entidade;
+    }
+
+    /**
+     * @return Momento da publicação, em milissegundos desde a época
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "tipo=" + tipo +
+                ", idEntidade=" + idEntidade +
+                ", instante=" + instante +
+                '}';
+    }
+}
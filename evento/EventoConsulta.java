@@ -0,0 +1,57 @@
+package evento;
+
+import entidade.Consulta;
+
+/**
+ * Evento de alteração de uma consulta, com a transição de status no momento da publicação.
+ */
+public class EventoConsulta extends EventoAlteracao<Consulta> {
+
+    private final Consulta.Status statusAnterior; // null na criação
+    private final Consulta.Status statusNovo;     // null na remoção
+
+    /**
+     * @param tipo           Tipo da alteração
+     * @param consulta       Consulta alterada
+     * @param statusAnterior Status antes da alteração (null na criação)
+     * @param statusNovo     Status depois da alteração (null na remoção)
+     */
+    public EventoConsulta(TipoAlteracao tipo, Consulta consulta,
+                          Consulta.Status statusAnterior, Consulta.Status statusNovo) {
+        super(tipo, consulta.getId(), consulta);
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+    }
+
+    /**
+     * @return Status antes da alteração, ou null se a consulta acabou de ser criada
+     */
+    public Consulta.Status getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    /**
+     * @return Status depois da alteração, ou null se a consulta foi removida
+     */
+    public Consulta.Status getStatusNovo() {
+        return statusNovo;
+    }
+
+    /**
+     * @return true se o evento representa uma mudança de status de uma consulta existente
+     */
+    public boolean mudouStatus() {
+        return getTipo() == TipoAlteracao.ATUALIZACAO && statusAnterior != statusNovo;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoConsulta{" +
+                "tipo=" + getTipo() +
+                ", idEntidade=" + getIdEntidade() +
+                ", statusAnterior=" + statusAnterior +
+                ", statusNovo=" + statusNovo +
+                ", instante=" + getInstante() +
+                '}';
+    }
+}
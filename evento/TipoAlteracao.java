@@ -0,0 +1,10 @@
+package evento;
+
+/**
+ * Tipos de alteração publicados pelos serviços.
+ */
+public enum TipoAlteracao {
+    CRIACAO,      // Entidade cadastrada
+    ATUALIZACAO,  // Dados ou status da entidade alterados
+    REMOCAO       // Entidade removida
+}
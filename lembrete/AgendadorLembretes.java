@@ -0,0 +1,249 @@
+package lembrete;
+
+import colecao.MapaIntObjeto;
+import entidade.Consulta;
+import evento.Assinante;
+import evento.BarramentoEventos;
+import evento.EventoConsulta;
+import evento.TipoAlteracao;
+import servico.ConsultaService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agendador de lembretes para consultas AGENDADAS, baseado numa {@link RodaTemporal}
+ * com ticks de um minuto.
+ *
+ * O agendador acompanha o barramento de eventos do {@link ConsultaService}: novas
+ * consultas são agendadas, reagendamentos movem o lembrete e cancelamentos,
+ * realizações ou remoções o descartam, tudo em O(1). Se o barramento descartar eventos
+ * por fila cheia, o agendador é ressincronizado com todas as consultas do serviço.
+ *
+ * O relógio é externo: {@link #avancarAte(LocalDateTime)} pode ser chamado com o
+ * horário real (ver {@link #iniciar()}) ou com um horário simulado, para avançar
+ * rapidamente dias ou semanas.
+ */
+public class AgendadorLembretes {
+
+    private final ConsultaService consultaService;
+    private final Duration antecedencia;
+    private final DestinoLembretes destino;
+    private final RodaTemporal<Consulta> roda;
+
+    // Temporizador de cada consulta, pelo ID da consulta. Depois do envio o temporizador fica
+    // inativo no mapa, guardando o prazo já lembrado, até a consulta deixar de estar AGENDADA
+    // ou passar: uma nova sincronização com o mesmo horário não repete o lembrete.
+    private final MapaIntObjeto<RodaTemporal.Temporizador<Consulta>> temporizadores = new MapaIntObjeto<>();
+
+    // Temporizadores já enviados, agendados para o horário da consulta lembrada: quando ele
+    // passa, o temporizador sai do mapa (a consulta não tem mais o que lembrar)
+    private final RodaTemporal<RodaTemporal.Temporizador<Consulta>> expiracoes;
+
+    private final BarramentoEventos<EventoConsulta>.Inscricao inscricao;
+    private ScheduledExecutorService relogio;
+
+    /**
+     * Cria o agendador a partir do horário atual.
+     *
+     * @param consultaService Serviço cujas consultas serão acompanhadas
+     * @param antecedencia    Quanto tempo antes da consulta o lembrete deve ser enviado
+     * @param destino         Destino dos lembretes
+     */
+    public AgendadorLembretes(ConsultaService consultaService, Duration antecedencia, DestinoLembretes destino) {
+        this(consultaService, antecedencia, destino, LocalDateTime.now());
+    }
+
+    /**
+     * Cria o agendador a partir de um horário inicial informado (útil para simulações).
+     *
+     * @param inicio Horário corrente do relógio do agendador
+     */
+    public AgendadorLembretes(ConsultaService consultaService, Duration antecedencia,
+                              DestinoLembretes destino, LocalDateTime inicio) {
+        this.consultaService = consultaService;
+        this.antecedencia = antecedencia;
+        this.destino = destino;
+        this.roda = new RodaTemporal<>(minuto(inicio));
+        this.expiracoes = new RodaTemporal<>(minuto(inicio));
+
+        // Inscreve antes de carregar as consultas existentes para não perder alterações
+        this.inscricao = consultaService.eventos().inscrever("lembretes", new Assinante<EventoConsulta>() {
+            @Override
+            public void receber(List<? extends EventoConsulta> lote) {
+                aoReceber(lote);
+            }
+
+            @Override
+            public void ressincronizar() {
+                recarregar();
+            }
+        });
+        recarregar();
+    }
+
+    /**
+     * Agenda, move ou cancela o lembrete de uma consulta conforme seu estado atual.
+     * Um lembrete já enviado só volta a ser agendado se o horário da consulta mudar.
+     *
+     * @param consulta Consulta a sincronizar
+     */
+    public synchronized void sincronizar(Consulta consulta) {
+        if (consulta.getStatus() != Consulta.Status.AGENDADA) {
+            remover(consulta.getId());
+            return;
+        }
+        long prazo = consulta.getMinuto() - antecedencia.toMinutes();
+        if (consulta.getMinuto() <= roda.getTickAtual()) {
+            remover(consulta.getId()); // A consulta já passou: não há o que lembrar
+            return;
+        }
+        RodaTemporal.Temporizador<Consulta> existente = temporizadores.get(consulta.getId());
+        if (existente == null) {
+            temporizadores.put(consulta.getId(), roda.agendar(prazo, consulta));
+        } else if (existente.getPrazo() != prazo) {
+            roda.reagendar(existente, prazo); // Reagendada: lembra o novo horário, mesmo que o antigo já tenha sido lembrado
+        }
+    }
+
+    /**
+     * Avança o relógio do agendador e envia os lembretes que venceram até o horário informado.
+     *
+     * @param agora Novo horário do relógio
+     * @return Número de lembretes enviados
+     */
+    public int avancarAte(LocalDateTime agora) {
+        List<Consulta> vencidos = new ArrayList<>();
+        synchronized (this) {
+            long tick = minuto(agora);
+            roda.avancarAte(tick, consulta -> {
+                vencidos.add(consulta);
+                RodaTemporal.Temporizador<Consulta> t = temporizadores.get(consulta.getId());
+                if (t != null) {
+                    expiracoes.agendar(t.getPrazo() + antecedencia.toMinutes(), t);
+                }
+            });
+            expiracoes.avancarAte(tick, this::expirar);
+        }
+        // Entrega fora do bloqueio para não atrasar a sincronização com o barramento
+        for (Consulta consulta : vencidos) {
+            destino.enviar(consulta);
+        }
+        return vencidos.size();
+    }
+
+    /**
+     * Inicia um relógio em segundo plano que avança o agendador a cada minuto com o horário real.
+     */
+    public synchronized void iniciar() {
+        if (relogio == null) {
+            relogio = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "relogio-lembretes");
+                t.setDaemon(true);
+                return t;
+            });
+            relogio.scheduleAtFixedRate(() -> avancarAte(LocalDateTime.now()), 0, 1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Para o relógio em segundo plano e deixa de acompanhar o barramento de eventos.
+     */
+    public synchronized void encerrar() {
+        if (relogio != null) {
+            relogio.shutdownNow();
+            relogio = null;
+        }
+        inscricao.cancelar();
+    }
+
+    /**
+     * Espera o agendador aplicar as alterações de consultas já publicadas no barramento.
+     * Usado com o relógio simulado, antes de avançar o horário.
+     *
+     * @param limiteMillis Tempo máximo de espera
+     * @return true se todas as alterações publicadas até a chamada foram aplicadas
+     * @throws InterruptedException Se a thread for interrompida durante a espera
+     */
+    public boolean aguardarEventos(long limiteMillis) throws InterruptedException {
+        return inscricao.aguardarEntrega(limiteMillis);
+    }
+
+    /**
+     * @return Número de lembretes pendentes
+     */
+    public synchronized int getPendentes() {
+        return roda.tamanho();
+    }
+
+    /**
+     * @return Número de consultas acompanhadas (com lembrete pendente ou já enviado para um
+     *         horário que ainda não passou)
+     */
+    public synchronized int getAcompanhadas() {
+        return temporizadores.size();
+    }
+
+    /**
+     * Trata um lote de eventos do barramento de consultas.
+     */
+    private void aoReceber(List<? extends EventoConsulta> lote) {
+        for (EventoConsulta evento : lote) {
+            if (evento.getTipo() == TipoAlteracao.REMOCAO) {
+                synchronized (this) {
+                    remover(evento.getIdEntidade());
+                }
+            } else {
+                sincronizar(evento.getEntidade());
+            }
+        }
+    }
+
+    /**
+     * Sincroniza todas as consultas do serviço e descarta os lembretes de consultas que
+     * não existem mais. Lembretes já enviados não são repetidos.
+     */
+    private void recarregar() {
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            sincronizar(consulta);
+        }
+        synchronized (this) {
+            for (RodaTemporal.Temporizador<Consulta> t : temporizadores.valores()) {
+                if (!consultaService.existeConsulta(t.getCarga().getId())) {
+                    remover(t.getCarga().getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tira do mapa o temporizador já enviado cuja consulta passou. Se a consulta foi reagendada
+     * depois do envio, o temporizador foi reaproveitado e continua no mapa.
+     */
+    private void expirar(RodaTemporal.Temporizador<Consulta> t) {
+        int id = t.getCarga().getId();
+        if (temporizadores.get(id) == t && !t.isAtivo()
+                && t.getPrazo() + antecedencia.toMinutes() <= expiracoes.getTickAtual()) {
+            temporizadores.remove(id);
+        }
+    }
+
+    private void remover(int idConsulta) {
+        RodaTemporal.Temporizador<Consulta> t = temporizadores.remove(idConsulta);
+        if (t != null) {
+            roda.cancelar(t);
+        }
+    }
+
+    /**
+     * Converte uma data/hora no número de minutos desde a época, usado como tick da roda.
+     */
+    private static long minuto(LocalDateTime dataHora) {
+        return Consulta.paraMinuto(dataHora);
+    }
+}
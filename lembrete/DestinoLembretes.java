@@ -0,0 +1,17 @@
+package lembrete;
+
+import entidade.Consulta;
+
+/**
+ * Destino local para onde os lembretes de consulta são entregues (SMS, e-mail, console...).
+ */
+@FunctionalInterface
+public interface DestinoLembretes {
+
+    /**
+     * Entrega o lembrete de uma consulta agendada.
+     *
+     * @param consulta Consulta que se aproxima
+     */
+    void enviar(Consulta consulta);
+}
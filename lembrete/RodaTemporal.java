@@ -0,0 +1,251 @@
+package lembrete;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda temporal hierárquica para agendar um grande número de temporizadores.
+ *
+ * O tempo é contado em ticks inteiros. A roda tem {@value #NIVEIS} níveis de
+ * {@value #POSICOES} posições: o nível 0 cobre os próximos 64 ticks, o nível 1
+ * os próximos 64², e assim por diante. Quando o nível inferior completa uma volta,
+ * a posição correspondente do nível superior é redistribuída para baixo.
+ *
+ * Agendar, cancelar e reagendar custam O(1), pois cada temporizador é um nó de uma
+ * lista duplamente encadeada. A classe não é thread-safe.
+ *
+ * @param <T> Tipo da carga associada a cada temporizador
+ */
+public final class RodaTemporal<T> {
+
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 4;
+
+    // Maior distância, em ticks, representável diretamente pela roda
+    private static final long ALCANCE = 1L << (BITS * NIVEIS);
+
+    /**
+     * Temporizador agendado na roda.
+     *
+     * @param <T> Tipo da carga
+     */
+    public static final class Temporizador<T> {
+        private final T carga;
+        private long prazo;
+        private Temporizador<T> anterior;
+        private Temporizador<T> proximo;
+        private Posicao<T> posicao; // null quando não está agendado
+
+        private Temporizador(T carga, long prazo) {
+            this.carga = carga;
+            this.prazo = prazo;
+        }
+
+        /**
+         * @return Carga associada ao temporizador
+         */
+        public T getCarga() {
+            return carga;
+        }
+
+        /**
+         * @return Tick em que o temporizador expira
+         */
+        public long getPrazo() {
+            return prazo;
+        }
+
+        /**
+         * @return true enquanto o temporizador estiver agendado
+         */
+        public boolean isAtivo() {
+            return posicao != null;
+        }
+    }
+
+    /**
+     * Posição da roda: lista duplamente encadeada de temporizadores.
+     */
+    private static final class Posicao<T> {
+        private Temporizador<T> cabeca;
+
+        void adicionar(Temporizador<T> t) {
+            t.posicao = this;
+            t.anterior = null;
+            t.proximo = cabeca;
+            if (cabeca != null) {
+                cabeca.anterior = t;
+            }
+            cabeca = t;
+        }
+
+        void remover(Temporizador<T> t) {
+            if (t.anterior != null) {
+                t.anterior.proximo = t.proximo;
+            } else {
+                cabeca = t.proximo;
+            }
+            if (t.proximo != null) {
+                t.proximo.anterior = t.anterior;
+            }
+            t.anterior = null;
+            t.proximo = null;
+            t.posicao = null;
+        }
+
+        /**
+         * Esvazia a posição e retorna a antiga lista de temporizadores.
+         */
+        Temporizador<T> esvaziar() {
+            Temporizador<T> lista = cabeca;
+            cabeca = null;
+            return lista;
+        }
+    }
+
+    private final Posicao<T>[][] niveis;
+    private long tickAtual;
+    private int tamanho;
+
+    /**
+     * @param tickInicial Tick corrente no momento da criação
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RodaTemporal(long tickInicial) {
+        this.tickAtual = tickInicial;
+        this.niveis = new Posicao[NIVEIS][POSICOES];
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            for (int i = 0; i < POSICOES; i++) {
+                niveis[nivel][i] = new Posicao<>();
+            }
+        }
+    }
+
+    /**
+     * Agenda um novo temporizador. Prazos já vencidos expiram no próximo tick.
+     *
+     * @param prazo Tick em que o temporizador deve expirar
+     * @param carga Carga entregue na expiração
+     * @return O temporizador criado
+     */
+    public Temporizador<T> agendar(long prazo, T carga) {
+        Temporizador<T> t = new Temporizador<>(carga, prazo);
+        inserir(t, tickAtual + 1);
+        tamanho++;
+        return t;
+    }
+
+    /**
+     * Move um temporizador para um novo prazo, reaproveitando o mesmo nó.
+     *
+     * @param t     Temporizador a reagendar (ativo ou já expirado/cancelado)
+     * @param prazo Novo tick de expiração
+     */
+    public void reagendar(Temporizador<T> t, long prazo) {
+        if (t.posicao != null) {
+            t.posicao.remover(t);
+        } else {
+            tamanho++;
+        }
+        t.prazo = prazo;
+        inserir(t, tickAtual + 1);
+    }
+
+    /**
+     * Cancela um temporizador.
+     *
+     * @param t Temporizador a cancelar
+     * @return true se o temporizador ainda estava agendado
+     */
+    public boolean cancelar(Temporizador<T> t) {
+        if (t.posicao == null) {
+            return false;
+        }
+        t.posicao.remover(t);
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Avança a roda, tick a tick, até o tick informado, entregando as cargas expiradas.
+     *
+     * @param tick      Tick de destino (inclusive)
+     * @param aoExpirar Ação chamada para cada temporizador expirado
+     */
+    public void avancarAte(long tick, Consumer<? super T> aoExpirar) {
+        while (tickAtual < tick) {
+            tickAtual++;
+            redistribuir();
+
+            Posicao<T> posicao = niveis[0][(int) (tickAtual & MASCARA)];
+            Temporizador<T> t = posicao.esvaziar();
+            while (t != null) {
+                Temporizador<T> proximo = t.proximo;
+                t.anterior = null;
+                t.proximo = null;
+                t.posicao = null;
+                if (t.prazo <= tickAtual) {
+                    tamanho--;
+                    aoExpirar.accept(t.carga);
+                } else {
+                    inserir(t, tickAtual + 1); // Prazo além do alcance da roda
+                }
+                t = proximo;
+            }
+        }
+    }
+
+    /**
+     * @return Tick corrente da roda
+     */
+    public long getTickAtual() {
+        return tickAtual;
+    }
+
+    /**
+     * @return Número de temporizadores agendados
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Redistribui para os níveis inferiores as posições que completaram a volta.
+     */
+    private void redistribuir() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            int deslocamento = BITS * nivel;
+            if ((tickAtual & ((1L << deslocamento) - 1)) != 0) {
+                return; // O nível anterior ainda não completou a volta
+            }
+            Posicao<T> posicao = niveis[nivel][(int) ((tickAtual >>> deslocamento) & MASCARA)];
+            Temporizador<T> t = posicao.esvaziar();
+            while (t != null) {
+                Temporizador<T> proximo = t.proximo;
+                inserir(t, tickAtual);
+                t = proximo;
+            }
+        }
+    }
+
+    /**
+     * Coloca o temporizador no nível adequado à distância até o seu prazo.
+     *
+     * @param minimo Primeiro tick em que o temporizador ainda pode expirar
+     */
+    private void inserir(Temporizador<T> t, long minimo) {
+        long prazo = Math.max(t.prazo, minimo);
+        long distancia = prazo - tickAtual;
+        if (distancia >= ALCANCE) {
+            prazo = tickAtual + ALCANCE - 1; // Volta a ser redistribuído quando chegar a hora
+            distancia = ALCANCE - 1;
+        }
+        int nivel = 0;
+        while (distancia >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        int indice = (int) ((prazo >>> (BITS * nivel)) & MASCARA);
+        niveis[nivel][indice].adicionar(t);
+    }
+}
@@ -0,0 +1,218 @@
+package lembrete;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Simulação de uma semana de lembretes em tempo acelerado, com verificação do resultado.
+ *
+ * A simulação agenda consultas ao longo de uma semana e avança o relógio do
+ * {@link AgendadorLembretes} minuto a minuto com um horário simulado. A cada hora, parte das
+ * consultas futuras é cancelada, parte é reagendada e parte recebe uma alteração que não muda
+ * o horário (o que faz o agendador sincronizá-las de novo). Antes de cada avanço a simulação
+ * espera o agendador aplicar os eventos publicados, para que o resultado não dependa do
+ * escalonamento das threads.
+ *
+ * Ao final, confere que:
+ * <ul>
+ *   <li>nenhum lembrete foi enviado duas vezes para o mesmo horário de consulta;</li>
+ *   <li>cada lembrete saiu no seu prazo, ou no minuto seguinte à alteração que o criou
+ *       quando o prazo já tinha passado, e nunca depois do horário da consulta;</li>
+ *   <li>nenhum lembrete saiu depois do cancelamento da consulta;</li>
+ *   <li>toda consulta ainda AGENDADA recebeu o lembrete do seu horário final;</li>
+ *   <li>o agendador só continua acompanhando as consultas AGENDADAS que ainda não passaram.</li>
+ * </ul>
+ */
+public class SimulacaoLembretes {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2030, 1, 7, 0, 0); // Segunda-feira
+    private static final int MINUTOS_SEMANA = 7 * 24 * 60;
+    private static final Duration ANTECEDENCIA = Duration.ofHours(2);
+    private static final long ESPERA_EVENTOS_MILLIS = 10_000;
+
+    private final int consultas;
+    private final long semente;
+
+    // Estado da simulação, pelo ID da consulta
+    private final Map<Integer, List<long[]>> enviados = new HashMap<>(); // {minuto da consulta, enviado em}
+    private final Map<Integer, Long> ultimaAlteracao = new HashMap<>();
+    private final Map<Integer, Long> canceladaEm = new HashMap<>();
+    private long agora;
+
+    /**
+     * @param consultas Número de consultas agendadas na semana
+     * @param semente   Semente do gerador pseudoaleatório (mesma semente, mesma simulação)
+     */
+    public SimulacaoLembretes(int consultas, long semente) {
+        this.consultas = consultas;
+        this.semente = semente;
+    }
+
+    /**
+     * Executa a simulação.
+     *
+     * @return Resumo da semana simulada
+     * @throws IllegalStateException Se alguma verificação falhar
+     * @throws InterruptedException  Se a thread for interrompida esperando os eventos
+     */
+    public String executar() throws InterruptedException {
+        long inicioReal = System.nanoTime();
+        Random random = new Random(semente);
+        PacienteService pacienteService = new PacienteService();
+        MedicoService medicoService = new MedicoService();
+        ConsultaService consultaService = new ConsultaService(pacienteService, medicoService);
+        Medico medico = medicoService.cadastrarMedico("Dra. Simulação", "Clínica Geral");
+        Paciente paciente = pacienteService.cadastrarPaciente("Paciente Simulado", "11999990000");
+
+        long minutoInicio = Consulta.paraMinuto(INICIO);
+        agora = minutoInicio;
+
+        // Metade das consultas já existe quando o agendador é criado; a outra metade chega por eventos
+        List<Integer> ids = new ArrayList<>(consultas);
+        for (int i = 0; i < consultas / 2; i++) {
+            ids.add(agendar(consultaService, paciente, medico, random));
+        }
+        AgendadorLembretes agendador = new AgendadorLembretes(consultaService, ANTECEDENCIA,
+                this::registrarEnvio, INICIO);
+        for (int i = consultas / 2; i < consultas; i++) {
+            ids.add(agendar(consultaService, paciente, medico, random));
+            if (i % 1000 == 0) {
+                aguardar(agendador); // Não enche a fila do agendador no barramento
+            }
+        }
+        aguardar(agendador);
+
+        int canceladas = 0;
+        int reagendadas = 0;
+        int ressincronizadas = 0;
+        int alteracoesPorHora = Math.max(1, consultas / 1000);
+        for (int minuto = 1; minuto <= MINUTOS_SEMANA; minuto++) {
+            if (minuto % 60 == 0) {
+                for (int i = 0; i < alteracoesPorHora; i++) {
+                    Consulta consulta = consultaService.buscarConsultaPorId(ids.get(random.nextInt(ids.size())));
+                    if (consulta.getStatus() != Consulta.Status.AGENDADA || consulta.getMinuto() <= agora) {
+                        continue;
+                    }
+                    switch (random.nextInt(3)) {
+                        case 0 -> {
+                            consultaService.atualizarStatusConsulta(consulta.getId(), Consulta.Status.CANCELADA);
+                            canceladaEm.put(consulta.getId(), agora);
+                            canceladas++;
+                        }
+                        case 1 -> {
+                            consultaService.reagendarConsulta(consulta.getId(), horarioAleatorio(random));
+                            ultimaAlteracao.put(consulta.getId(), agora);
+                            reagendadas++;
+                        }
+                        default -> {
+                            // Mesmo status e mesmo horário: só gera uma nova sincronização
+                            consultaService.atualizarStatusConsulta(consulta.getId(), Consulta.Status.AGENDADA);
+                            ressincronizadas++;
+                        }
+                    }
+                }
+                aguardar(agendador);
+            }
+            agora = minutoInicio + minuto;
+            agendador.avancarAte(INICIO.plusMinutes(minuto));
+        }
+        agendador.encerrar();
+
+        int total = verificar(consultaService, agendador, minutoInicio + MINUTOS_SEMANA);
+        return String.format("Semana simulada em %d ms: %d consultas, %d lembretes enviados, "
+                        + "%d canceladas, %d reagendadas, %d ressincronizadas, nenhuma divergência",
+                (System.nanoTime() - inicioReal) / 1_000_000, consultas, total,
+                canceladas, reagendadas, ressincronizadas);
+    }
+
+    private int agendar(ConsultaService consultaService, Paciente paciente, Medico medico, Random random) {
+        Consulta consulta = consultaService.agendarConsulta(paciente.getId(), medico.getId(), horarioAleatorio(random));
+        ultimaAlteracao.put(consulta.getId(), agora);
+        return consulta.getId();
+    }
+
+    /**
+     * Horário entre o minuto seguinte ao relógio simulado e o fim da semana.
+     */
+    private LocalDateTime horarioAleatorio(Random random) {
+        long minutoInicio = Consulta.paraMinuto(INICIO);
+        long restante = minutoInicio + MINUTOS_SEMANA - agora;
+        return INICIO.plusMinutes(agora - minutoInicio + 1 + (long) (random.nextDouble() * restante));
+    }
+
+    private void registrarEnvio(Consulta consulta) {
+        enviados.computeIfAbsent(consulta.getId(), id -> new ArrayList<>())
+                .add(new long[]{consulta.getMinuto(), agora});
+    }
+
+    private static void aguardar(AgendadorLembretes agendador) throws InterruptedException {
+        if (!agendador.aguardarEventos(ESPERA_EVENTOS_MILLIS)) {
+            throw new IllegalStateException("O agendador não aplicou os eventos em "
+                    + ESPERA_EVENTOS_MILLIS + " ms.");
+        }
+    }
+
+    /**
+     * Confere os lembretes enviados contra o estado final das consultas.
+     *
+     * @return Número de lembretes enviados
+     */
+    private int verificar(ConsultaService consultaService, AgendadorLembretes agendador, long fimSemana) {
+        List<String> divergencias = new ArrayList<>();
+        int total = 0;
+        int futuras = 0;
+        long antecedencia = ANTECEDENCIA.toMinutes();
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            int id = consulta.getId();
+            List<long[]> envios = enviados.getOrDefault(id, List.of());
+            total += envios.size();
+            long alteracao = ultimaAlteracao.get(id);
+            for (int i = 0; i < envios.size(); i++) {
+                long minutoConsulta = envios.get(i)[0];
+                long enviadoEm = envios.get(i)[1];
+                for (int j = 0; j < i; j++) {
+                    if (envios.get(j)[0] == minutoConsulta) {
+                        divergencias.add("consulta " + id + ": lembrete repetido em " + enviadoEm);
+                    }
+                }
+                long prazo = minutoConsulta - antecedencia;
+                if (enviadoEm > minutoConsulta || enviadoEm < prazo
+                        || (enviadoEm > prazo && enviadoEm > alteracao + 1 && minutoConsulta == consulta.getMinuto())) {
+                    divergencias.add("consulta " + id + ": lembrete em " + enviadoEm + " para o prazo " + prazo);
+                }
+                Long cancelamento = canceladaEm.get(id);
+                if (cancelamento != null && enviadoEm > cancelamento) {
+                    divergencias.add("consulta " + id + ": lembrete depois do cancelamento");
+                }
+            }
+            if (consulta.getStatus() == Consulta.Status.AGENDADA && consulta.getMinuto() <= fimSemana
+                    && envios.stream().noneMatch(e -> e[0] == consulta.getMinuto())) {
+                divergencias.add("consulta " + id + ": lembrete não enviado");
+            }
+            if (consulta.getStatus() == Consulta.Status.AGENDADA && consulta.getMinuto() > fimSemana) {
+                futuras++;
+            }
+        }
+        if (agendador.getAcompanhadas() != futuras) {
+            divergencias.add(agendador.getAcompanhadas() + " consultas acompanhadas pelo agendador, "
+                    + futuras + " ainda por acontecer");
+        }
+        if (!divergencias.isEmpty()) {
+            throw new IllegalStateException(divergencias.size() + " divergência(s) nos lembretes, ex.: "
+                    + divergencias.subList(0, Math.min(5, divergencias.size())));
+        }
+        return total;
+    }
+}
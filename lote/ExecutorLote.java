@@ -0,0 +1,249 @@
+package lote;
+
+import entidade.Consulta;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa um arquivo de comandos sobre os serviços, sem interação com o usuário.
+ *
+ * Cada linha é um comando com campos separados por {@code ;}:
+ * <pre>
+ * paciente;nome;telefone
+ * medico;nome;especialidade
+ * agendar;idPaciente;idMedico;yyyy-MM-dd HH:mm
+ * status;idConsulta;AGENDADA|REALIZADA|CANCELADA|NAO_COMPARECEU (ou 1 a 4, como no menu)
+ * reagendar;idConsulta;yyyy-MM-dd HH:mm
+ * atualizar-paciente;id;nome;telefone
+ * atualizar-medico;id;nome;especialidade
+ * deletar-paciente;id
+ * deletar-medico;id
+ * deletar-consulta;id
+ * </pre>
+ * Linhas vazias e iniciadas por {@code #} são ignoradas. Um comando com erro é contado e
+ * relatado, e a execução segue com a linha seguinte.
+ *
+ * Com tamanho de lote maior que zero, os agendamentos são enviados ao pipeline assíncrono
+ * do {@link ConsultaService} e aguardados a cada {@code tamanhoLote} pedidos, ou antes de
+ * qualquer outro comando, para que comandos seguintes já enxerguem as consultas criadas.
+ * Se um agendamento não for confirmado em {@value #ESPERA_MAXIMA_SEGUNDOS} segundos, a
+ * execução é interrompida com {@link IllegalStateException}, em vez de ficar parada.
+ */
+public class ExecutorLote {
+
+    // Número máximo de erros impressos individualmente (os demais são apenas contados)
+    private static final int MAX_ERROS_EXIBIDOS = 20;
+
+    // Tempo máximo de espera pela confirmação dos agendamentos pendentes
+    static final long ESPERA_MAXIMA_SEGUNDOS = 30;
+
+    private final PacienteService pacienteService;
+    private final MedicoService medicoService;
+    private final ConsultaService consultaService;
+    private final int tamanhoLote;
+
+    // Agendamentos assíncronos ainda não confirmados e as linhas de onde vieram
+    private final List<CompletableFuture<Consulta>> pendentes = new ArrayList<>();
+    private final List<Long> linhasPendentes = new ArrayList<>();
+
+    private long comandos;
+    private long erros;
+
+    /**
+     * @param tamanhoLote Número de agendamentos aguardados de uma vez; 0 executa tudo de forma síncrona
+     */
+    public ExecutorLote(PacienteService pacienteService, MedicoService medicoService,
+                        ConsultaService consultaService, int tamanhoLote) {
+        if (tamanhoLote < 0) {
+            throw new IllegalArgumentException("O tamanho do lote não pode ser negativo.");
+        }
+        this.pacienteService = pacienteService;
+        this.medicoService = medicoService;
+        this.consultaService = consultaService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Executa todos os comandos da entrada.
+     *
+     * @param entrada Arquivo ou fluxo de comandos (UTF-8)
+     * @return Resumo da execução
+     * @throws IOException           Se a entrada não puder ser lida
+     * @throws IllegalStateException Se um agendamento assíncrono não for confirmado a tempo
+     */
+    public Resumo executar(InputStream entrada) throws IOException {
+        LeitorComandos leitor = new LeitorComandos(entrada);
+        long inicio = System.nanoTime();
+        long comandosAntes = comandos;
+        long errosAntes = erros;
+        while (leitor.proximaLinha()) {
+            comandos++;
+            try {
+                executarComando(leitor);
+            } catch (PedidoSemResposta e) {
+                throw e; // Não é erro de uma linha: o pipeline parou de responder
+            } catch (RuntimeException e) {
+                registrarErro(leitor.getNumeroLinha(), e);
+            }
+        }
+        aguardarPendentes();
+        return new Resumo(comandos - comandosAntes, erros - errosAntes, System.nanoTime() - inicio);
+    }
+
+    private void executarComando(LeitorComandos leitor) {
+        String comando = leitor.texto(0);
+        if (!comando.equals("agendar") || tamanhoLote == 0) {
+            aguardarPendentes(); // Barreira: o comando pode depender de agendamentos anteriores
+        }
+        switch (comando) {
+            case "paciente" -> pacienteService.cadastrarPaciente(leitor.texto(1), leitor.texto(2));
+            case "medico" -> medicoService.cadastrarMedico(leitor.texto(1), leitor.texto(2));
+            case "agendar" -> agendar(leitor);
+            case "status" -> consultaService.atualizarStatusConsulta(leitor.inteiro(1), lerStatus(leitor, 2));
+            case "reagendar" -> consultaService.reagendarConsulta(leitor.inteiro(1), leitor.dataHora(2));
+            case "atualizar-paciente" ->
+                    pacienteService.atualizarPaciente(leitor.inteiro(1), leitor.texto(2), leitor.texto(3));
+            case "atualizar-medico" ->
+                    medicoService.atualizarMedico(leitor.inteiro(1), leitor.texto(2), leitor.texto(3));
+            case "deletar-paciente" -> pacienteService.deletarPaciente(leitor.inteiro(1));
+            case "deletar-medico" -> medicoService.deletarMedico(leitor.inteiro(1));
+            case "deletar-consulta" -> consultaService.deletarConsulta(leitor.inteiro(1));
+            default -> throw new IllegalArgumentException("Comando desconhecido: '" + comando + "'.");
+        }
+    }
+
+    private void agendar(LeitorComandos leitor) {
+        int idPaciente = leitor.inteiro(1);
+        int idMedico = leitor.inteiro(2);
+        if (tamanhoLote == 0) {
+            consultaService.agendarConsulta(idPaciente, idMedico, leitor.dataHora(3));
+            return;
+        }
+        pendentes.add(consultaService.agendarConsultaAsync(idPaciente, idMedico, leitor.dataHora(3)));
+        linhasPendentes.add(leitor.getNumeroLinha());
+        if (pendentes.size() >= tamanhoLote) {
+            aguardarPendentes();
+        }
+    }
+
+    /**
+     * Aguarda todos os agendamentos assíncronos enviados e contabiliza os que falharam.
+     *
+     * @throws PedidoSemResposta Se algum não for confirmado dentro do tempo máximo
+     */
+    private void aguardarPendentes() {
+        long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA_MAXIMA_SEGUNDOS);
+        for (int i = 0; i < pendentes.size(); i++) {
+            try {
+                pendentes.get(i).get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                registrarErro(linhasPendentes.get(i), e.getCause() != null ? e.getCause() : e);
+            } catch (TimeoutException e) {
+                throw new PedidoSemResposta("O agendamento da linha " + linhasPendentes.get(i)
+                        + " não foi confirmado em " + ESPERA_MAXIMA_SEGUNDOS + " s; execução interrompida.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PedidoSemResposta("Execução interrompida aguardando o agendamento da linha "
+                        + linhasPendentes.get(i) + ".");
+            }
+        }
+        pendentes.clear();
+        linhasPendentes.clear();
+    }
+
+    private static Consulta.Status lerStatus(LeitorComandos leitor, int campo) {
+        String valor = leitor.texto(campo);
+        return switch (valor) {
+            case "1" -> Consulta.Status.AGENDADA;
+            case "2" -> Consulta.Status.REALIZADA;
+            case "3" -> Consulta.Status.CANCELADA;
+            case "4" -> Consulta.Status.NAO_COMPARECEU;
+            default -> {
+                try {
+                    yield Consulta.Status.valueOf(valor);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Status inválido: '" + valor + "'.");
+                }
+            }
+        };
+    }
+
+    private void registrarErro(long linha, Throwable erro) {
+        if (++erros <= MAX_ERROS_EXIBIDOS) {
+            System.err.println("Erro na linha " + linha + ": " + erro.getMessage());
+        } else if (erros == MAX_ERROS_EXIBIDOS + 1) {
+            System.err.println("Mais erros encontrados; apenas o total será exibido no resumo.");
+        }
+    }
+
+    /**
+     * Agendamento assíncrono que não foi confirmado: interrompe a execução inteira.
+     */
+    private static final class PedidoSemResposta extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        PedidoSemResposta(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    /**
+     * Resultado de uma execução em lote.
+     */
+    public static final class Resumo {
+
+        private final long comandos;
+        private final long erros;
+        private final long duracaoNanos;
+
+        Resumo(long comandos, long erros, long duracaoNanos) {
+            this.comandos = comandos;
+            this.erros = erros;
+            this.duracaoNanos = duracaoNanos;
+        }
+
+        /**
+         * @return Número de comandos lidos
+         */
+        public long getComandos() {
+            return comandos;
+        }
+
+        /**
+         * @return Número de comandos que falharam
+         */
+        public long getErros() {
+            return erros;
+        }
+
+        /**
+         * @return Tempo total de execução, em nanossegundos
+         */
+        public long getDuracaoNanos() {
+            return duracaoNanos;
+        }
+
+        /**
+         * @return Comandos executados por segundo
+         */
+        public double getComandosPorSegundo() {
+            return duracaoNanos <= 0 ? 0 : comandos * 1e9 / duracaoNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Lote{comandos=%d, erros=%d, duracaoMs=%.1f, comandosPorSegundo=%.0f, comandosPorMinuto=%.0f}",
+                    comandos, erros, duracaoNanos / 1e6, getComandosPorSegundo(), getComandosPorSegundo() * 60);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package lote;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Leitor rápido de arquivos de comandos.
+ *
+ * Lê a entrada em blocos para um {@code byte[]} próprio e separa cada linha em campos
+ * delimitados por {@code ;}, guardando apenas as posições de início e fim de cada campo.
+ * Números e datas são convertidos direto dos bytes, sem criar strings; só os campos de
+ * texto (nomes, telefones...) viram {@link String}.
+ *
+ * Linhas vazias e linhas iniciadas por {@code #} são ignoradas. Espaços em volta de
+ * cada campo são descartados. O texto deve estar em UTF-8.
+ */
+final class LeitorComandos {
+
+    private static final int TAMANHO_BLOCO = 64 * 1024;
+
+    private final InputStream entrada;
+    private final byte[] bloco = new byte[TAMANHO_BLOCO];
+    private int posicaoBloco;
+    private int limiteBloco;
+    private boolean fimEntrada;
+
+    // Linha atual e posições dos seus campos
+    private byte[] linha = new byte[256];
+    private int tamanhoLinha;
+    private int[] inicios = new int[8];
+    private int[] fins = new int[8];
+    private int campos;
+    private long numeroLinha;
+
+    LeitorComandos(InputStream entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Avança para a próxima linha com comando.
+     *
+     * @return false quando a entrada termina
+     */
+    boolean proximaLinha() throws IOException {
+        while (lerLinha()) {
+            separarCampos();
+            if (campos > 0 && tamanhoCampo(0) > 0 && linha[inicios[0]] != '#') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Número (a partir de 1) da linha atual na entrada
+     */
+    long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    /**
+     * @return Número de campos da linha atual
+     */
+    int getCampos() {
+        return campos;
+    }
+
+    /**
+     * @return O campo como texto
+     */
+    String texto(int campo) {
+        verificarCampo(campo);
+        return new String(linha, inicios[campo], tamanhoCampo(campo), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return O campo convertido em inteiro
+     * @throws IllegalArgumentException Se o campo não for um número inteiro
+     */
+    int inteiro(int campo) {
+        verificarCampo(campo);
+        int i = inicios[campo];
+        int fim = fins[campo];
+        boolean negativo = i < fim && linha[i] == '-';
+        if (negativo) {
+            i++;
+        }
+        if (i == fim || fim - i > 10) {
+            throw numeroInvalido(campo);
+        }
+        long valor = 0;
+        for (; i < fim; i++) {
+            int digito = linha[i] - '0';
+            if (digito < 0 || digito > 9) {
+                throw numeroInvalido(campo);
+            }
+            valor = valor * 10 + digito;
+        }
+        valor = negativo ? -valor : valor;
+        if (valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            throw numeroInvalido(campo);
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Converte um campo no formato {@code yyyy-MM-dd HH:mm} (ou com {@code T} no lugar do espaço).
+     *
+     * @return Data e hora lidas
+     * @throws IllegalArgumentException Se o campo não estiver no formato esperado
+     */
+    LocalDateTime dataHora(int campo) {
+        verificarCampo(campo);
+        int i = inicios[campo];
+        if (tamanhoCampo(campo) != 16 || linha[i + 4] != '-' || linha[i + 7] != '-'
+                || (linha[i + 10] != ' ' && linha[i + 10] != 'T') || linha[i + 13] != ':') {
+            throw dataInvalida(campo);
+        }
+        try {
+            return LocalDateTime.of(digitos(campo, i, 4), digitos(campo, i + 5, 2), digitos(campo, i + 8, 2),
+                    digitos(campo, i + 11, 2), digitos(campo, i + 14, 2));
+        } catch (DateTimeException e) {
+            throw dataInvalida(campo);
+        }
+    }
+
+    // ==================== LEITURA DA ENTRADA ====================
+
+    /**
+     * Copia a próxima linha da entrada para {@code linha}, sem a quebra de linha.
+     *
+     * @return false se não houver mais linhas
+     */
+    private boolean lerLinha() throws IOException {
+        tamanhoLinha = 0;
+        boolean leuAlgo = false;
+        while (true) {
+            if (posicaoBloco == limiteBloco && !encherBloco()) {
+                return leuAlgo && terminarLinha(); // Última linha sem '\n'
+            }
+            leuAlgo = true;
+            int inicio = posicaoBloco;
+            int i = inicio;
+            while (i < limiteBloco && bloco[i] != '\n') {
+                i++;
+            }
+            acrescentar(inicio, i - inicio);
+            if (i < limiteBloco) {
+                posicaoBloco = i + 1; // Consome o '\n'
+                return terminarLinha();
+            }
+            posicaoBloco = limiteBloco;
+        }
+    }
+
+    private boolean terminarLinha() {
+        numeroLinha++;
+        if (tamanhoLinha > 0 && linha[tamanhoLinha - 1] == '\r') {
+            tamanhoLinha--;
+        }
+        return true;
+    }
+
+    private boolean encherBloco() throws IOException {
+        if (fimEntrada) {
+            return false;
+        }
+        int lidos = entrada.read(bloco, 0, bloco.length);
+        if (lidos <= 0) {
+            fimEntrada = true;
+            return false;
+        }
+        posicaoBloco = 0;
+        limiteBloco = lidos;
+        return true;
+    }
+
+    private void acrescentar(int inicio, int tamanho) {
+        if (tamanhoLinha + tamanho > linha.length) {
+            linha = Arrays.copyOf(linha, Math.max(linha.length * 2, tamanhoLinha + tamanho));
+        }
+        System.arraycopy(bloco, inicio, linha, tamanhoLinha, tamanho);
+        tamanhoLinha += tamanho;
+    }
+
+    /**
+     * Registra o início e o fim de cada campo da linha, sem os espaços em volta.
+     */
+    private void separarCampos() {
+        campos = 0;
+        int inicio = 0;
+        for (int i = 0; i <= tamanhoLinha; i++) {
+            if (i == tamanhoLinha || linha[i] == ';') {
+                if (campos == inicios.length) {
+                    inicios = Arrays.copyOf(inicios, campos * 2);
+                    fins = Arrays.copyOf(fins, campos * 2);
+                }
+                int a = inicio;
+                int b = i;
+                while (a < b && (linha[a] == ' ' || linha[a] == '\t')) {
+                    a++;
+                }
+                while (b > a && (linha[b - 1] == ' ' || linha[b - 1] == '\t')) {
+                    b--;
+                }
+                inicios[campos] = a;
+                fins[campos] = b;
+                campos++;
+                inicio = i + 1;
+            }
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private int tamanhoCampo(int campo) {
+        return fins[campo] - inicios[campo];
+    }
+
+    private int digitos(int campo, int inicio, int quantidade) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            int digito = linha[i] - '0';
+            if (digito < 0 || digito > 9) {
+                throw dataInvalida(campo);
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    private void verificarCampo(int campo) {
+        if (campo >= campos) {
+            throw new IllegalArgumentException("Campo " + (campo + 1) + " ausente.");
+        }
+    }
+
+    private IllegalArgumentException numeroInvalido(int campo) {
+        return new IllegalArgumentException("Número inválido: '" + texto(campo) + "'.");
+    }
+
+    private IllegalArgumentException dataInvalida(int campo) {
+        return new IllegalArgumentException("Data e hora inválida: '" + texto(campo) + "'. Formato correto: yyyy-MM-dd HH:mm");
+    }
+}
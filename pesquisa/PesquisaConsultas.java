@@ -0,0 +1,253 @@
+package pesquisa;
+
+import entidade.Consulta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Critérios de uma pesquisa de consultas, combinados com "e".
+ *
+ * Exemplo: consultas realizadas do médico 12 em março, de pacientes cujo nome começa com "Ana":
+ * <pre>
+ * new PesquisaConsultas()
+ *         .comStatus(Consulta.Status.REALIZADA)
+ *         .doMedico(12)
+ *         .entre(LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0))
+ *         .nomePacienteComecaCom("Ana")
+ *         .limitar(20);
+ * </pre>
+ * Chamar o mesmo critério duas vezes substitui o valor anterior. Os resultados vêm em ordem
+ * de data/hora (e de ID, no mesmo horário). Quem escolhe como buscar é o
+ * {@link PlanejadorConsultas}.
+ */
+public class PesquisaConsultas {
+
+    private Integer id;
+    private Integer medico;
+    private Integer paciente;
+    private Consulta.Status status;
+    private Integer inicio; // Minuto inicial (inclusivo)
+    private Integer fim;    // Minuto final (exclusivo)
+    private String especialidade;
+    private String prefixoNomePaciente;
+    private final List<Predicate<Consulta>> condicoes = new ArrayList<>();
+    private final List<String> descricoesCondicoes = new ArrayList<>();
+    private long pular;
+    private long limite = Long.MAX_VALUE;
+
+    // ==================== CRITÉRIOS ====================
+
+    /**
+     * Restringe à consulta com o ID informado.
+     */
+    public PesquisaConsultas comId(int id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Restringe às consultas do médico.
+     */
+    public PesquisaConsultas doMedico(int idMedico) {
+        this.medico = idMedico;
+        return this;
+    }
+
+    /**
+     * Restringe às consultas do paciente.
+     */
+    public PesquisaConsultas doPaciente(int idPaciente) {
+        this.paciente = idPaciente;
+        return this;
+    }
+
+    /**
+     * Restringe às consultas com o status.
+     */
+    public PesquisaConsultas comStatus(Consulta.Status status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Restringe às consultas com data/hora no intervalo [inicio, fim).
+     */
+    public PesquisaConsultas entre(LocalDateTime inicio, LocalDateTime fim) {
+        this.inicio = Consulta.paraMinuto(inicio);
+        this.fim = Consulta.paraMinuto(fim);
+        return this;
+    }
+
+    /**
+     * Restringe às consultas de médicos da especialidade (comparação sem diferenciar maiúsculas).
+     */
+    public PesquisaConsultas daEspecialidade(String especialidade) {
+        this.especialidade = especialidade;
+        return this;
+    }
+
+    /**
+     * Restringe às consultas de pacientes cujo nome começa com o prefixo (sem diferenciar maiúsculas).
+     */
+    public PesquisaConsultas nomePacienteComecaCom(String prefixo) {
+        this.prefixoNomePaciente = prefixo;
+        return this;
+    }
+
+    /**
+     * Acrescenta uma condição livre, avaliada depois dos demais critérios.
+     *
+     * @param descricao Texto exibido no {@link PlanoConsulta#explicar()}
+     * @param condicao  Condição que a consulta deve satisfazer
+     */
+    public PesquisaConsultas onde(String descricao, Predicate<Consulta> condicao) {
+        descricoesCondicoes.add(descricao);
+        condicoes.add(condicao);
+        return this;
+    }
+
+    /**
+     * Descarta os primeiros resultados (paginação).
+     */
+    public PesquisaConsultas pular(long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade a pular não pode ser negativa.");
+        }
+        this.pular = quantidade;
+        return this;
+    }
+
+    /**
+     * Limita o número de resultados (paginação).
+     */
+    public PesquisaConsultas limitar(long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        this.limite = quantidade;
+        return this;
+    }
+
+    /**
+     * @return O ID da consulta, do médico ou do paciente a que a pesquisa está restrita (nessa
+     *         ordem), ou 0 se ela não estiver restrita a nenhum; usado para encaminhar a pesquisa
+     *         à clínica certa numa {@link servico.RedeClinicas}
+     */
+    public int getIdRestricao() {
+        if (id != null) {
+            return id;
+        }
+        if (medico != null) {
+            return medico;
+        }
+        return paciente != null ? paciente : 0;
+    }
+
+    // ==================== USO PELO PLANEJADOR ====================
+
+    Integer getId() {
+        return id;
+    }
+
+    Integer getMedico() {
+        return medico;
+    }
+
+    Integer getPaciente() {
+        return paciente;
+    }
+
+    Consulta.Status getStatus() {
+        return status;
+    }
+
+    Integer getInicio() {
+        return inicio;
+    }
+
+    Integer getFim() {
+        return fim;
+    }
+
+    long getPular() {
+        return pular;
+    }
+
+    long getLimite() {
+        return limite;
+    }
+
+    /**
+     * Verifica todos os critérios na própria consulta, dos mais baratos aos mais caros.
+     * Os índices só reduzem os candidatos; a decisão final é sempre esta.
+     */
+    boolean aceita(Consulta consulta) {
+        if (id != null && consulta.getId() != id) {
+            return false;
+        }
+        if (status != null && consulta.getStatus() != status) {
+            return false;
+        }
+        if (medico != null && consulta.getMedico().getId() != medico) {
+            return false;
+        }
+        if (paciente != null && consulta.getPaciente().getId() != paciente) {
+            return false;
+        }
+        if (inicio != null && !consulta.estaEntre(inicio, fim)) {
+            return false;
+        }
+        if (especialidade != null && !especialidade.equalsIgnoreCase(consulta.getMedico().getEspecialidade())) {
+            return false;
+        }
+        if (prefixoNomePaciente != null) {
+            String nome = consulta.getPaciente().getNome();
+            if (nome == null || !nome.regionMatches(true, 0, prefixoNomePaciente, 0, prefixoNomePaciente.length())) {
+                return false;
+            }
+        }
+        for (Predicate<Consulta> condicao : condicoes) {
+            if (!condicao.test(consulta)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Descrição dos critérios, na ordem em que são verificados
+     */
+    String descreverCriterios() {
+        List<String> partes = new ArrayList<>();
+        if (id != null) {
+            partes.add("id=" + id);
+        }
+        if (status != null) {
+            partes.add("status=" + status);
+        }
+        if (medico != null) {
+            partes.add("medico=" + medico);
+        }
+        if (paciente != null) {
+            partes.add("paciente=" + paciente);
+        }
+        if (inicio != null) {
+            partes.add("dataHora em " + descreverPeriodo());
+        }
+        if (especialidade != null) {
+            partes.add("especialidade='" + especialidade + "'");
+        }
+        if (prefixoNomePaciente != null) {
+            partes.add("nomePaciente começa com '" + prefixoNomePaciente + "'");
+        }
+        partes.addAll(descricoesCondicoes);
+        return partes.isEmpty() ? "(nenhum)" : String.join(" e ", partes);
+    }
+
+    String descreverPeriodo() {
+        return "[" + Consulta.paraDataHora(inicio) + ", " + Consulta.paraDataHora(fim) + ")";
+    }
+}
@@ -0,0 +1,94 @@
+package pesquisa;
+
+import repositorio.ConsultaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escolhe como executar uma {@link PesquisaConsultas}.
+ *
+ * Para cada critério que tem índice (ID, médico, paciente, status, período), o planejador
+ * estima quantos candidatos aquele caminho leria, consultando o tamanho do índice, e fica
+ * com o menor. Sem nenhum critério indexado, a pesquisa percorre todas as consultas em
+ * ordem de data/hora. A contagem do período para assim que passa da melhor estimativa
+ * já encontrada, então planejar nunca custa mais do que executar o melhor plano.
+ */
+public class PlanejadorConsultas {
+
+    private final ConsultaRepository repository;
+
+    /**
+     * @param repository Repositório cujos índices serão usados
+     */
+    public PlanejadorConsultas(ConsultaRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Escolhe o caminho de acesso mais seletivo para a pesquisa.
+     *
+     * @param pesquisa Critérios da pesquisa
+     * @return Plano pronto para ser executado ou explicado
+     */
+    public PlanoConsulta planejar(PesquisaConsultas pesquisa) {
+        if (pesquisa.getId() != null) {
+            return new PlanoConsulta(repository, pesquisa, PlanoConsulta.Acesso.ID, 1, List.of());
+        }
+
+        int total = repository.contar();
+        PlanoConsulta.Acesso melhor = PlanoConsulta.Acesso.VARREDURA;
+        int melhorEstimativa = total;
+        List<PlanoConsulta.Acesso> acessos = new ArrayList<>();
+        List<String> descricoes = new ArrayList<>();
+
+        if (pesquisa.getMedico() != null) {
+            int estimativa = repository.contarPorMedico(pesquisa.getMedico());
+            acessos.add(PlanoConsulta.Acesso.MEDICO);
+            descricoes.add("MEDICO ~" + estimativa);
+            if (estimativa < melhorEstimativa) {
+                melhor = PlanoConsulta.Acesso.MEDICO;
+                melhorEstimativa = estimativa;
+            }
+        }
+        if (pesquisa.getPaciente() != null) {
+            int estimativa = repository.contarPorPaciente(pesquisa.getPaciente());
+            acessos.add(PlanoConsulta.Acesso.PACIENTE);
+            descricoes.add("PACIENTE ~" + estimativa);
+            if (estimativa < melhorEstimativa) {
+                melhor = PlanoConsulta.Acesso.PACIENTE;
+                melhorEstimativa = estimativa;
+            }
+        }
+        if (pesquisa.getStatus() != null) {
+            int estimativa = repository.contarPorStatus(pesquisa.getStatus());
+            acessos.add(PlanoConsulta.Acesso.STATUS);
+            descricoes.add("STATUS ~" + estimativa);
+            if (estimativa < melhorEstimativa) {
+                melhor = PlanoConsulta.Acesso.STATUS;
+                melhorEstimativa = estimativa;
+            }
+        }
+        if (pesquisa.getInicio() != null) {
+            // Com o teto na melhor estimativa, a contagem não percorre mais do que o necessário
+            int estimativa = repository.contarPorPeriodo(pesquisa.getInicio(), pesquisa.getFim(), melhorEstimativa);
+            acessos.add(PlanoConsulta.Acesso.PERIODO);
+            descricoes.add("PERIODO " + (estimativa >= melhorEstimativa ? ">=" : "~") + estimativa);
+            if (estimativa < melhorEstimativa) {
+                melhor = PlanoConsulta.Acesso.PERIODO;
+                melhorEstimativa = estimativa;
+            }
+        }
+        acessos.add(PlanoConsulta.Acesso.VARREDURA);
+        descricoes.add("VARREDURA ~" + total);
+
+        // As alternativas são os caminhos considerados e descartados
+        List<String> alternativas = new ArrayList<>();
+        for (int i = 0; i < acessos.size(); i++) {
+            if (acessos.get(i) != melhor) {
+                alternativas.add(descricoes.get(i));
+            }
+        }
+        return new PlanoConsulta(repository, pesquisa, melhor, melhorEstimativa, alternativas);
+    }
+}
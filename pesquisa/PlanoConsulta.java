@@ -0,0 +1,177 @@
+package pesquisa;
+
+import entidade.Consulta;
+import repositorio.ConsultaRepository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Plano escolhido pelo {@link PlanejadorConsultas} para uma pesquisa.
+ *
+ * O plano diz por qual caminho os candidatos são lidos (ID, índice de médico, de paciente,
+ * de status, faixa de horário ou varredura completa) e quantos candidatos eram esperados.
+ * Todos os critérios são verificados em cada candidato, na ordem mais barata primeiro.
+ */
+public class PlanoConsulta {
+
+    /**
+     * Caminhos de acesso possíveis.
+     */
+    public enum Acesso {
+        ID,         // Busca direta por ID
+        MEDICO,     // Índice de consultas por médico
+        PACIENTE,   // Índice de consultas por paciente
+        STATUS,     // Índice de consultas por status
+        PERIODO,    // Índice por data/hora, apenas na faixa pedida
+        VARREDURA   // Índice por data/hora, do início ao fim
+    }
+
+    // IDs lidos por vez ao percorrer o índice de data/hora
+    private static final int TAMANHO_BLOCO = 256;
+
+    // Fim exclusivo da varredura completa: depois de Integer.MAX_VALUE, para incluir esse minuto
+    private static final long SEM_FIM = Integer.MAX_VALUE + 1L;
+
+    private final ConsultaRepository repository;
+    private final PesquisaConsultas pesquisa;
+    private final Acesso acesso;
+    private final int estimativa;
+    private final List<String> alternativas;
+
+    PlanoConsulta(ConsultaRepository repository, PesquisaConsultas pesquisa, Acesso acesso,
+                  int estimativa, List<String> alternativas) {
+        this.repository = repository;
+        this.pesquisa = pesquisa;
+        this.acesso = acesso;
+        this.estimativa = estimativa;
+        this.alternativas = alternativas;
+    }
+
+    /**
+     * @return Caminho de acesso escolhido
+     */
+    public Acesso getAcesso() {
+        return acesso;
+    }
+
+    /**
+     * @return Número estimado de candidatos lidos pelo caminho escolhido
+     */
+    public int getEstimativa() {
+        return estimativa;
+    }
+
+    /**
+     * @return Descrição legível do plano (caminho, estimativas, critérios e paginação)
+     */
+    public String explicar() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Acesso: ").append(acesso);
+        switch (acesso) {
+            case ID -> sb.append(" (id=").append(pesquisa.getId()).append(')');
+            case MEDICO -> sb.append(" (medico=").append(pesquisa.getMedico()).append(')');
+            case PACIENTE -> sb.append(" (paciente=").append(pesquisa.getPaciente()).append(')');
+            case STATUS -> sb.append(" (status=").append(pesquisa.getStatus()).append(')');
+            case PERIODO -> sb.append(' ').append(pesquisa.descreverPeriodo());
+            case VARREDURA -> sb.append(" (todas as consultas, em ordem de data/hora)");
+        }
+        sb.append(", ~").append(estimativa).append(" candidatos\n");
+        sb.append("Alternativas: ").append(alternativas.isEmpty() ? "(nenhuma)" : String.join(", ", alternativas)).append('\n');
+        sb.append("Critérios verificados: ").append(pesquisa.descreverCriterios()).append('\n');
+        sb.append("Ordem: data/hora, id\n");
+        sb.append("Paginação: pular=").append(pesquisa.getPular())
+                .append(", limite=").append(pesquisa.getLimite() == Long.MAX_VALUE ? "sem limite" : pesquisa.getLimite());
+        return sb.toString();
+    }
+
+    /**
+     * Executa o plano. As consultas são lidas e filtradas sob demanda: com um limite, a
+     * leitura para assim que ele é atingido.
+     *
+     * @return Consultas que satisfazem todos os critérios, em ordem de data/hora
+     */
+    public Stream<Consulta> executar() {
+        Stream<Consulta> candidatas = switch (acesso) {
+            case ID -> Stream.ofNullable(repository.buscarPorId(pesquisa.getId()));
+            case MEDICO -> porIds(repository.idsPorMedico(pesquisa.getMedico()));
+            case PACIENTE -> porIds(repository.idsPorPaciente(pesquisa.getPaciente()));
+            case STATUS -> porIds(repository.idsPorStatus(pesquisa.getStatus()));
+            case PERIODO -> porHorario(pesquisa.getInicio(), pesquisa.getFim());
+            case VARREDURA -> porHorario(Integer.MIN_VALUE, SEM_FIM);
+        };
+        Stream<Consulta> resultado = candidatas.filter(pesquisa::aceita).skip(pesquisa.getPular());
+        return pesquisa.getLimite() == Long.MAX_VALUE ? resultado : resultado.limit(pesquisa.getLimite());
+    }
+
+    @Override
+    public String toString() {
+        return explicar();
+    }
+
+    private Stream<Consulta> porIds(int[] ids) {
+        // Consultas removidas depois da leitura do índice são ignoradas
+        return IntStream.of(ids).mapToObj(repository::buscarPorId).filter(c -> c != null);
+    }
+
+    private Stream<Consulta> porHorario(int inicio, long fim) {
+        Iterator<Consulta> iterador = new IteradorPorHorario(inicio, fim);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Percorre o índice de data/hora em blocos, sem manter o bloqueio do repositório entre eles.
+     */
+    private final class IteradorPorHorario implements Iterator<Consulta> {
+
+        private final long fim;
+        private int proximoMinuto;
+        private boolean terminou;
+        private int[] ids = new int[0];
+        private int posicao;
+        private Consulta proxima;
+
+        IteradorPorHorario(int inicio, long fim) {
+            this.proximoMinuto = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (proxima == null) {
+                if (posicao == ids.length) {
+                    if (terminou) {
+                        return false;
+                    }
+                    ConsultaRepository.BlocoIds bloco = fim == SEM_FIM
+                            ? repository.idsAPartirDe(proximoMinuto, TAMANHO_BLOCO)
+                            : repository.idsPorPeriodo(proximoMinuto, (int) fim, TAMANHO_BLOCO);
+                    ids = bloco.getIds();
+                    posicao = 0;
+                    proximoMinuto = bloco.getProximoMinuto();
+                    terminou = bloco.isFim();
+                    continue;
+                }
+                proxima = repository.buscarPorId(ids[posicao++]);
+            }
+            return true;
+        }
+
+        @Override
+        public Consulta next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Consulta atual = proxima;
+            proxima = null;
+            return atual;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package replicacao;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+import evento.Assinante;
+import evento.BarramentoEventos;
+import evento.EventoAlteracao;
+import evento.TipoAlteracao;
+import servico.ConsultaService;
+import servico.MedicoService;
+import servico.PacienteService;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lado primário da replicação: envia as alterações dos serviços para uma réplica
+ * conectada por socket local.
+ *
+ * O primário acompanha os barramentos de eventos dos três serviços e transforma cada
+ * lote de eventos em um quadro binário (ver {@link ProtocoloReplicacao}). Ao aceitar
+ * uma réplica, e sempre que um barramento pedir ressincronização por ter descartado
+ * eventos, envia uma cópia completa do estado, em quadros de tamanho limitado.
+ *
+ * Uma réplica é atendida por vez; uma nova conexão substitui a anterior.
+ */
+public class PrimarioReplicacao {
+
+    // Capacidade da fila de eventos da replicação em cada barramento
+    private static final int CAPACIDADE_FILA = 1 << 16;
+
+    // Número máximo de registros por quadro durante a cópia completa
+    private static final int REGISTROS_POR_QUADRO = 4096;
+
+    private final PacienteService pacienteService;
+    private final MedicoService medicoService;
+    private final ConsultaService consultaService;
+    private final ServerSocket servidor;
+    private final Thread aceitadora;
+    private final List<BarramentoEventos<?>.Inscricao> inscricoes = new ArrayList<>();
+
+    // Estado da conexão atual (protegido por this)
+    private Socket socket;
+    private DataOutputStream saida;
+
+    // Quadro em montagem (protegido por this)
+    private final ByteArrayOutputStream bytesQuadro = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream corpo = new DataOutputStream(bytesQuadro);
+    private int registrosQuadro;
+    private long instanteQuadro;
+
+    // Estatísticas
+    private long sequencia;
+    private long registrosEnviados;
+    private long bytesEnviados;
+
+    /**
+     * Abre a porta de replicação no endereço local e passa a acompanhar os serviços.
+     *
+     * @param porta Porta TCP em que a réplica deve se conectar
+     * @throws IOException Se a porta não puder ser aberta
+     */
+    public PrimarioReplicacao(PacienteService pacienteService, MedicoService medicoService,
+                              ConsultaService consultaService, int porta) throws IOException {
+        this.pacienteService = pacienteService;
+        this.medicoService = medicoService;
+        this.consultaService = consultaService;
+        this.servidor = new ServerSocket(porta, 1, InetAddress.getLoopbackAddress());
+
+        Assinante<EventoAlteracao<?>> assinante = new Assinante<>() {
+            @Override
+            public void receber(List<? extends EventoAlteracao<?>> lote) {
+                aoReceber(lote);
+            }
+
+            @Override
+            public void ressincronizar() {
+                aoPerderEventos();
+            }
+        };
+        inscricoes.add(pacienteService.eventos().inscrever("replicacao", assinante, CAPACIDADE_FILA));
+        inscricoes.add(medicoService.eventos().inscrever("replicacao", assinante, CAPACIDADE_FILA));
+        inscricoes.add(consultaService.eventos().inscrever("replicacao", assinante, CAPACIDADE_FILA));
+
+        this.aceitadora = new Thread(this::aceitar, "replicacao-primario");
+        aceitadora.setDaemon(true);
+        aceitadora.start();
+    }
+
+    /**
+     * @return Porta local em que o primário aguarda a réplica
+     */
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * @return true se houver uma réplica conectada
+     */
+    public synchronized boolean isConectado() {
+        return saida != null;
+    }
+
+    /**
+     * @return Resumo das estatísticas de envio
+     */
+    public synchronized String resumo() {
+        return "Primário{conectado=" + (saida != null) +
+                ", quadros=" + sequencia +
+                ", registros=" + registrosEnviados +
+                ", bytes=" + bytesEnviados +
+                '}';
+    }
+
+    /**
+     * Fecha a porta e a conexão atual e deixa de acompanhar os serviços.
+     */
+    public void encerrar() {
+        for (BarramentoEventos<?>.Inscricao inscricao : inscricoes) {
+            inscricao.cancelar();
+        }
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            // Já fechado
+        }
+        synchronized (this) {
+            desconectar();
+        }
+    }
+
+    // ==================== CONEXÃO ====================
+
+    /**
+     * Laço que aceita réplicas e envia a cópia completa do estado para cada nova conexão.
+     */
+    private void aceitar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket novo = servidor.accept();
+                novo.setTcpNoDelay(true);
+                synchronized (this) {
+                    desconectar();
+                    socket = novo;
+                    saida = new DataOutputStream(new BufferedOutputStream(novo.getOutputStream(), 64 * 1024));
+                    enviarInstantaneo();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    desconectar();
+                }
+            }
+        }
+    }
+
+    private void desconectar() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ignora: a conexão já está sendo descartada
+            }
+        }
+        socket = null;
+        saida = null;
+    }
+
+    // ==================== ENVIO ====================
+
+    /**
+     * Trata um lote de eventos de qualquer um dos barramentos.
+     */
+    private synchronized void aoReceber(List<? extends EventoAlteracao<?>> lote) {
+        if (saida == null) {
+            return; // Sem réplica: a próxima conexão recebe a cópia completa
+        }
+        try {
+            iniciarQuadro();
+            for (EventoAlteracao<?> evento : lote) {
+                registrar(evento);
+            }
+            enviarQuadro();
+        } catch (IOException e) {
+            desconectar();
+        }
+    }
+
+    /**
+     * Um barramento descartou eventos por fila cheia: reenvia o estado inteiro à réplica.
+     */
+    private synchronized void aoPerderEventos() {
+        if (saida == null) {
+            return; // Sem réplica: a próxima conexão recebe a cópia completa
+        }
+        try {
+            enviarInstantaneo();
+        } catch (IOException e) {
+            desconectar();
+        }
+    }
+
+    /**
+     * Envia o estado completo dos três serviços em quadros de tamanho limitado.
+     */
+    private void enviarInstantaneo() throws IOException {
+        iniciarQuadro();
+        corpo.writeByte(ProtocoloReplicacao.INSTANTANEO_INICIO);
+        registrosQuadro++;
+        for (Paciente paciente : pacienteService.listarPacientes()) {
+            corpo.writeByte(ProtocoloReplicacao.PACIENTE_SALVO);
+            ProtocoloReplicacao.escreverPaciente(corpo, paciente);
+            contarRegistroInstantaneo();
+        }
+        for (Medico medico : medicoService.listarMedicos()) {
+            corpo.writeByte(ProtocoloReplicacao.MEDICO_SALVO);
+            ProtocoloReplicacao.escreverMedico(corpo, medico);
+            contarRegistroInstantaneo();
+        }
+        for (Consulta consulta : consultaService.listarConsultas()) {
+            corpo.writeByte(ProtocoloReplicacao.CONSULTA_SALVA);
+            ProtocoloReplicacao.escreverConsulta(corpo, consulta);
+            contarRegistroInstantaneo();
+        }
+        corpo.writeByte(ProtocoloReplicacao.INSTANTANEO_FIM);
+        registrosQuadro++;
+        enviarQuadro();
+    }
+
+    private void contarRegistroInstantaneo() throws IOException {
+        if (++registrosQuadro >= REGISTROS_POR_QUADRO) {
+            enviarQuadro();
+            iniciarQuadro();
+        }
+    }
+
+    /**
+     * Acrescenta ao quadro o registro correspondente a um evento.
+     */
+    private void registrar(EventoAlteracao<?> evento) throws IOException {
+        Object entidade = evento.getEntidade();
+        boolean remocao = evento.getTipo() == TipoAlteracao.REMOCAO;
+        if (entidade instanceof Paciente paciente) {
+            if (remocao) {
+                corpo.writeByte(ProtocoloReplicacao.PACIENTE_REMOVIDO);
+                corpo.writeInt(evento.getIdEntidade());
+            } else {
+                corpo.writeByte(ProtocoloReplicacao.PACIENTE_SALVO);
+                ProtocoloReplicacao.escreverPaciente(corpo, paciente);
+            }
+        } else if (entidade instanceof Medico medico) {
+            if (remocao) {
+                corpo.writeByte(ProtocoloReplicacao.MEDICO_REMOVIDO);
+                corpo.writeInt(evento.getIdEntidade());
+            } else {
+                corpo.writeByte(ProtocoloReplicacao.MEDICO_SALVO);
+                ProtocoloReplicacao.escreverMedico(corpo, medico);
+            }
+        } else if (entidade instanceof Consulta consulta) {
+            if (remocao) {
+                corpo.writeByte(ProtocoloReplicacao.CONSULTA_REMOVIDA);
+                corpo.writeInt(evento.getIdEntidade());
+            } else {
+                corpo.writeByte(ProtocoloReplicacao.CONSULTA_SALVA);
+                ProtocoloReplicacao.escreverConsulta(corpo, consulta);
+            }
+        } else {
+            return;
+        }
+        registrosQuadro++;
+        instanteQuadro = Math.min(instanteQuadro, evento.getInstante());
+    }
+
+    private void iniciarQuadro() {
+        bytesQuadro.reset();
+        registrosQuadro = 0;
+        instanteQuadro = System.currentTimeMillis();
+    }
+
+    /**
+     * Escreve o cabeçalho e o corpo do quadro atual na conexão.
+     */
+    private void enviarQuadro() throws IOException {
+        if (registrosQuadro == 0) {
+            return;
+        }
+        corpo.flush();
+        saida.writeInt(ProtocoloReplicacao.TAMANHO_CABECALHO + bytesQuadro.size());
+        saida.writeLong(++sequencia);
+        saida.writeLong(instanteQuadro);
+        saida.writeInt(registrosQuadro);
+        bytesQuadro.writeTo(saida);
+        saida.flush();
+        registrosEnviados += registrosQuadro;
+        bytesEnviados += 4 + ProtocoloReplicacao.TAMANHO_CABECALHO + bytesQuadro.size();
+    }
+}
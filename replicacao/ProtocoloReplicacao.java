@@ -0,0 +1,114 @@
+package replicacao;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+/**
+ * Formato binário dos quadros trocados entre primário e réplica.
+ *
+ * Cada quadro tem o cabeçalho {@code [int tamanho][long sequência][long instante][int registros]}
+ * seguido dos registros. O instante é o momento de publicação do evento mais antigo do
+ * quadro e serve para a réplica medir o atraso de replicação.
+ *
+ * Os registros de gravação levam o estado completo da entidade, de modo que aplicá-los
+ * mais de uma vez produz o mesmo resultado. Uma consulta leva apenas os IDs do paciente
+ * e do médico, que a réplica resolve nos seus próprios mapas.
+ */
+final class ProtocoloReplicacao {
+
+    // Tipos de registro
+    static final byte PACIENTE_SALVO = 1;
+    static final byte PACIENTE_REMOVIDO = 2;
+    static final byte MEDICO_SALVO = 3;
+    static final byte MEDICO_REMOVIDO = 4;
+    static final byte CONSULTA_SALVA = 5;
+    static final byte CONSULTA_REMOVIDA = 6;
+    static final byte INSTANTANEO_INICIO = 7; // A réplica descarta o estado atual
+    static final byte INSTANTANEO_FIM = 8;    // Fim da cópia completa do estado
+
+    // Tamanho do cabeçalho após o campo de tamanho
+    static final int TAMANHO_CABECALHO = 8 + 8 + 4;
+
+    // Maior quadro aceito pela réplica
+    static final int TAMANHO_MAXIMO_QUADRO = 64 * 1024 * 1024;
+
+    private static final Consulta.Status[] STATUS = Consulta.Status.values();
+
+    private ProtocoloReplicacao() {
+    }
+
+    // ==================== ESCRITA ====================
+
+    static void escreverPaciente(DataOutputStream out, Paciente paciente) throws IOException {
+        out.writeInt(paciente.getId());
+        escreverTexto(out, paciente.getNome());
+        escreverTexto(out, paciente.getTelefone());
+    }
+
+    static void escreverMedico(DataOutputStream out, Medico medico) throws IOException {
+        out.writeInt(medico.getId());
+        escreverTexto(out, medico.getNome());
+        escreverTexto(out, medico.getEspecialidade());
+    }
+
+    static void escreverConsulta(DataOutputStream out, Consulta consulta) throws IOException {
+        out.writeInt(consulta.getId());
+        out.writeInt(consulta.getPaciente().getId());
+        out.writeInt(consulta.getMedico().getId());
+        out.writeInt(consulta.getMinuto());
+        out.writeByte(consulta.getStatus().ordinal());
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        out.writeBoolean(texto != null);
+        if (texto != null) {
+            out.writeUTF(texto);
+        }
+    }
+
+    // ==================== LEITURA ====================
+
+    static Paciente lerPaciente(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        Paciente paciente = new Paciente(lerTexto(in), lerTexto(in));
+        paciente.setId(id);
+        return paciente;
+    }
+
+    static Medico lerMedico(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        Medico medico = new Medico(lerTexto(in), lerTexto(in));
+        medico.setId(id);
+        return medico;
+    }
+
+    /**
+     * Lê uma consulta, obtendo o paciente e o médico pelos IDs recebidos.
+     *
+     * @throws IOException Se o registro estiver truncado ou o status for desconhecido
+     */
+    static Consulta lerConsulta(DataInputStream in, IntFunction<Paciente> pacientes,
+                                IntFunction<Medico> medicos) throws IOException {
+        int id = in.readInt();
+        Paciente paciente = pacientes.apply(in.readInt());
+        Medico medico = medicos.apply(in.readInt());
+        Consulta consulta = new Consulta(paciente, medico, in.readInt());
+        consulta.setId(id);
+        int status = in.readUnsignedByte();
+        if (status >= STATUS.length) {
+            throw new IOException("Status de consulta inválido no registro de replicação: " + status);
+        }
+        consulta.setStatus(STATUS[status]);
+        return consulta;
+    }
+
+    private static String lerTexto(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,338 @@
+package replicacao;
+
+import colecao.MapaIntObjeto;
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+import erro.EntidadeNaoEncontradaException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lado réplica da replicação: mantém uma cópia somente leitura do estado do primário.
+ *
+ * Uma thread lê os quadros enviados pelo {@link PrimarioReplicacao} e aplica os
+ * registros, em ordem, sobre mapas em memória. Se a conexão cair, a réplica tenta se
+ * reconectar a cada segundo e recebe novamente a cópia completa do estado.
+ *
+ * Como no primário, as consultas apontam para os mesmos objetos de paciente e médico
+ * guardados nos mapas, e uma alteração de paciente ou médico é aplicada sobre o objeto
+ * existente. Os barramentos de cada serviço são independentes, então uma consulta pode
+ * chegar antes do seu paciente ou médico: nesse caso ela aponta para um objeto provisório,
+ * só com o ID, que passa a valer quando o registro correspondente chegar.
+ *
+ * Os métodos de leitura seguem os nomes e as exceções dos serviços.
+ */
+public class ReplicaLeitura {
+
+    private static final long INTERVALO_RECONEXAO_MILLIS = 1000;
+
+    private final int porta;
+    private final Thread leitora;
+    private volatile boolean ativa = true;
+    private volatile Socket socket;
+
+    // Estado replicado (protegido por this)
+    private final MapaIntObjeto<Paciente> pacientes = new MapaIntObjeto<>();
+    private final MapaIntObjeto<Medico> medicos = new MapaIntObjeto<>();
+    private final MapaIntObjeto<Consulta> consultas = new MapaIntObjeto<>();
+
+    // Pacientes e médicos citados por consultas mas ainda não recebidos (protegidos por this)
+    private final MapaIntObjeto<Paciente> pacientesProvisorios = new MapaIntObjeto<>();
+    private final MapaIntObjeto<Medico> medicosProvisorios = new MapaIntObjeto<>();
+
+    // Estatísticas (protegidas por this)
+    private boolean sincronizada;
+    private long ultimaSequencia;
+    private long atrasoMillis;
+    private long registrosAplicados;
+    private long bytesRecebidos;
+    private long inicioConexao;
+    private long inicioInstantaneo;
+    private long duracaoInstantaneoMillis;
+    private long registrosInstantaneo;
+
+    /**
+     * Inicia a réplica, conectando-se ao primário na porta local informada.
+     *
+     * @param porta Porta em que o primário aguarda a réplica
+     */
+    public ReplicaLeitura(int porta) {
+        this.porta = porta;
+        this.leitora = new Thread(this::executar, "replicacao-replica");
+        leitora.setDaemon(true);
+        leitora.start();
+    }
+
+    // ==================== LEITURAS ====================
+
+    public synchronized List<Paciente> listarPacientes() {
+        List<Paciente> lista = pacientes.valores();
+        lista.sort(Comparator.comparingInt(Paciente::getId));
+        return lista;
+    }
+
+    public synchronized List<Medico> listarMedicos() {
+        List<Medico> lista = medicos.valores();
+        lista.sort(Comparator.comparingInt(Medico::getId));
+        return lista;
+    }
+
+    public synchronized List<Consulta> listarConsultas() {
+        List<Consulta> lista = consultas.valores();
+        lista.sort(Comparator.comparingInt(Consulta::getId));
+        return lista;
+    }
+
+    /**
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir na réplica
+     */
+    public synchronized Paciente buscarPacientePorId(int id) {
+        Paciente paciente = pacientes.get(id);
+        if (paciente == null) {
+            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id);
+        }
+        return paciente;
+    }
+
+    /**
+     * @throws EntidadeNaoEncontradaException Se o médico não existir na réplica
+     */
+    public synchronized Medico buscarMedicoPorId(int id) {
+        Medico medico = medicos.get(id);
+        if (medico == null) {
+            throw new EntidadeNaoEncontradaException("Médico com ID " + id + " não encontrado.");
+        }
+        return medico;
+    }
+
+    /**
+     * @throws EntidadeNaoEncontradaException Se a consulta não existir na réplica
+     */
+    public synchronized Consulta buscarConsultaPorId(int id) {
+        Consulta consulta = consultas.get(id);
+        if (consulta == null) {
+            throw new EntidadeNaoEncontradaException("Consulta com ID " + id + " não encontrada.");
+        }
+        return consulta;
+    }
+
+    // ==================== ESTATÍSTICAS ====================
+
+    /**
+     * @return true depois que a cópia completa do estado foi recebida
+     */
+    public synchronized boolean isSincronizada() {
+        return sincronizada;
+    }
+
+    /**
+     * @return Tempo entre a publicação do evento mais antigo do último quadro e a sua aplicação
+     */
+    public synchronized long getAtrasoMillis() {
+        return atrasoMillis;
+    }
+
+    /**
+     * @return Sequência do último quadro aplicado
+     */
+    public synchronized long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * @return Registros aplicados por segundo desde o início da conexão atual
+     */
+    public synchronized double getRegistrosPorSegundo() {
+        long decorrido = System.currentTimeMillis() - inicioConexao;
+        return decorrido <= 0 ? 0 : registrosAplicados * 1000.0 / decorrido;
+    }
+
+    /**
+     * @return Resumo do estado da réplica e das métricas de replicação
+     */
+    public synchronized String resumo() {
+        return "Réplica{sincronizada=" + sincronizada +
+                ", pacientes=" + pacientes.size() +
+                ", medicos=" + medicos.size() +
+                ", consultas=" + consultas.size() +
+                ", ultimaSequencia=" + ultimaSequencia +
+                ", atrasoMs=" + atrasoMillis +
+                ", registrosAplicados=" + registrosAplicados +
+                ", bytesRecebidos=" + bytesRecebidos +
+                ", copiaCompleta=" + registrosInstantaneo + " registros em " + duracaoInstantaneoMillis + " ms" +
+                String.format(", registrosPorSegundo=%.0f", getRegistrosPorSegundo()) +
+                '}';
+    }
+
+    /**
+     * Desconecta do primário e encerra a thread leitora.
+     */
+    public void encerrar() {
+        ativa = false;
+        Socket atual = socket;
+        if (atual != null) {
+            try {
+                atual.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+        leitora.interrupt();
+    }
+
+    // ==================== APLICAÇÃO DOS QUADROS ====================
+
+    /**
+     * Laço da thread leitora: conecta, aplica quadros e reconecta quando necessário.
+     */
+    private void executar() {
+        while (ativa) {
+            try (Socket conexao = new Socket(InetAddress.getLoopbackAddress(), porta)) {
+                socket = conexao;
+                synchronized (this) {
+                    inicioConexao = System.currentTimeMillis();
+                    registrosAplicados = 0;
+                    sincronizada = false;
+                }
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexao.getInputStream(), 64 * 1024));
+                byte[] quadro = new byte[64 * 1024];
+                while (ativa) {
+                    int tamanho = entrada.readInt();
+                    if (tamanho < ProtocoloReplicacao.TAMANHO_CABECALHO || tamanho > ProtocoloReplicacao.TAMANHO_MAXIMO_QUADRO) {
+                        throw new IOException("Quadro de replicação inválido: " + tamanho + " bytes");
+                    }
+                    if (quadro.length < tamanho) {
+                        quadro = new byte[Math.max(tamanho, quadro.length * 2)];
+                    }
+                    entrada.readFully(quadro, 0, tamanho);
+                    aplicarQuadro(new DataInputStream(new ByteArrayInputStream(quadro, 0, tamanho)), tamanho);
+                }
+            } catch (IOException e) {
+                if (!ativa) {
+                    return;
+                }
+                try {
+                    Thread.sleep(INTERVALO_RECONEXAO_MILLIS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Aplica todos os registros de um quadro sob um único bloqueio.
+     */
+    private synchronized void aplicarQuadro(DataInputStream in, int tamanho) throws IOException {
+        long sequencia = in.readLong();
+        long instante = in.readLong();
+        int registros = in.readInt();
+        for (int i = 0; i < registros; i++) {
+            aplicarRegistro(in);
+        }
+        ultimaSequencia = sequencia;
+        atrasoMillis = System.currentTimeMillis() - instante;
+        registrosAplicados += registros;
+        bytesRecebidos += 4 + tamanho;
+    }
+
+    private void aplicarRegistro(DataInputStream in) throws IOException {
+        byte tipo = in.readByte();
+        switch (tipo) {
+            case ProtocoloReplicacao.PACIENTE_SALVO -> salvarPaciente(ProtocoloReplicacao.lerPaciente(in));
+            case ProtocoloReplicacao.PACIENTE_REMOVIDO -> pacientes.remove(in.readInt());
+            case ProtocoloReplicacao.MEDICO_SALVO -> salvarMedico(ProtocoloReplicacao.lerMedico(in));
+            case ProtocoloReplicacao.MEDICO_REMOVIDO -> medicos.remove(in.readInt());
+            case ProtocoloReplicacao.CONSULTA_SALVA -> {
+                Consulta consulta = ProtocoloReplicacao.lerConsulta(in, this::pacienteDaConsulta, this::medicoDaConsulta);
+                consultas.put(consulta.getId(), consulta);
+            }
+            case ProtocoloReplicacao.CONSULTA_REMOVIDA -> consultas.remove(in.readInt());
+            case ProtocoloReplicacao.INSTANTANEO_INICIO -> {
+                pacientes.clear();
+                medicos.clear();
+                consultas.clear();
+                pacientesProvisorios.clear();
+                medicosProvisorios.clear();
+                sincronizada = false;
+                inicioInstantaneo = System.currentTimeMillis();
+                registrosInstantaneo = 0;
+            }
+            case ProtocoloReplicacao.INSTANTANEO_FIM -> {
+                sincronizada = true;
+                duracaoInstantaneoMillis = System.currentTimeMillis() - inicioInstantaneo;
+                registrosInstantaneo = pacientes.size() + medicos.size() + consultas.size();
+            }
+            default -> throw new IOException("Tipo de registro desconhecido: " + tipo);
+        }
+    }
+
+    /**
+     * Aplica os dados recebidos sobre o paciente já conhecido (ou provisório), para que as
+     * consultas que apontam para ele vejam a alteração.
+     */
+    private void salvarPaciente(Paciente recebido) {
+        Paciente paciente = pacientes.get(recebido.getId());
+        if (paciente == null) {
+            paciente = pacientesProvisorios.remove(recebido.getId());
+        }
+        if (paciente == null) {
+            paciente = recebido;
+        } else {
+            paciente.setNome(recebido.getNome());
+            paciente.setTelefone(recebido.getTelefone());
+        }
+        pacientes.put(paciente.getId(), paciente);
+    }
+
+    private void salvarMedico(Medico recebido) {
+        Medico medico = medicos.get(recebido.getId());
+        if (medico == null) {
+            medico = medicosProvisorios.remove(recebido.getId());
+        }
+        if (medico == null) {
+            medico = recebido;
+        } else {
+            medico.setNome(recebido.getNome());
+            medico.setEspecialidade(recebido.getEspecialidade());
+        }
+        medicos.put(medico.getId(), medico);
+    }
+
+    /**
+     * Paciente de uma consulta recebida: o já replicado ou, se ainda não chegou, um provisório.
+     */
+    private Paciente pacienteDaConsulta(int id) {
+        Paciente paciente = pacientes.get(id);
+        if (paciente == null) {
+            paciente = pacientesProvisorios.get(id);
+            if (paciente == null) {
+                paciente = new Paciente(null, null);
+                paciente.setId(id);
+                pacientesProvisorios.put(id, paciente);
+            }
+        }
+        return paciente;
+    }
+
+    private Medico medicoDaConsulta(int id) {
+        Medico medico = medicos.get(id);
+        if (medico == null) {
+            medico = medicosProvisorios.get(id);
+            if (medico == null) {
+                medico = new Medico(null, null);
+                medico.setId(id);
+                medicosProvisorios.put(id, medico);
+            }
+        }
+        return medico;
+    }
+}
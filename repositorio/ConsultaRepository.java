@@ -1,69 +1,466 @@
-package repositorio;
-
-import entidade.Consulta;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Repositório responsável pelo armazenamento e gerenciamento de consultas médicas.
- * Implementa operações básicas de CRUD (Create, Read, Update, Delete) em memória.
- */
-public class ConsultaRepository {
-
-    // Lista em memória para armazenar todas as consultas
-    private List<Consulta> consultas = new ArrayList<>();
-
-    // Contador para gerar IDs únicos e sequenciais para novas consultas
-    private int idContador = 1;
-
-    /**
-     * Armazena uma nova consulta no repositório.
-     * Atribui automaticamente um ID e adiciona à lista de consultas.
-     * @param consulta A consulta a ser cadastrada (sem ID definido)
-     */
-    public void salvar(Consulta consulta) {
-        consulta.setId(idContador++); // Atribui ID e incrementa o contador
-        consultas.add(consulta);      // Adiciona à lista de consultas
-    }
-
-    /**
-     * Retorna uma lista com todas as consultas cadastradas.
-     * @return Cópia da lista de consultas (para evitar modificações externas)
-     */
-    public List<Consulta> listarTodos() {
-        return new ArrayList<>(consultas); // Retorna cópia defensiva
-    }
-
-    /**
-     * Busca uma consulta pelo seu ID.
-     * @param id ID da consulta a ser localizada
-     * @return A consulta encontrada ou null se não existir
-     */
-    public Consulta buscarPorId(int id) {
-        return consultas.stream()           // Converte para Stream
-                .filter(c -> c.getId() == id) // Filtra pelo ID
-                .findFirst()                // Pega a primeira ocorrência
-                .orElse(null);              // Retorna null se não encontrar
-    }
-
-    /**
-     * Atualiza os dados de uma consulta existente.
-     * @param consultaAtualizada Consulta com os novos dados (deve conter ID válido)
-     */
-    public void atualizar(Consulta consultaAtualizada) {
-        for (int i = 0; i < consultas.size(); i++) {
-            if (consultas.get(i).getId() == consultaAtualizada.getId()) {
-                consultas.set(i, consultaAtualizada); // Substitui a consulta
-                return; // Encerra após encontrar e atualizar
-            }
-        }
-    }
-
-    /**
-     * Remove uma consulta do repositório.
-     * @param consulta Consulta a ser removida (identificada pelo ID)
-     */
-    public void deletar(Consulta consulta) {
-        consultas.removeIf(c -> c.getId() == consulta.getId()); // Remove por ID
-    }
+package repositorio;
+
+import colecao.ConjuntoInt;
+import colecao.MapaIntObjeto;
+import entidade.Consulta;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Repositório responsável pelo armazenamento e gerenciamento de consultas médicas.
+ * Implementa operações básicas de CRUD (Create, Read, Update, Delete) em memória.
+ * Os métodos são sincronizados para permitir acesso a partir de várias threads.
+ *
+ * Além do mapa por ID, mantém índices secundários por médico, por paciente, por status e
+ * por data/hora, usados pelas pesquisas ({@code pesquisa.PlanejadorConsultas}). Como as
+ * consultas são objetos mutáveis, os índices só refletem uma alteração depois que ela é
+ * gravada com {@link #atualizar(Consulta)}; quem lê pelos índices deve conferir os
+ * critérios na própria consulta.
+ *
+ * Os índices só são montados na primeira leitura que precisa deles (ou em
+ * {@link #construirIndices()}); até lá, gravar uma consulta custa apenas a inserção no mapa
+ * por ID, o que encurta a carga inicial de dados.
+ */
+public class ConsultaRepository {
+
+    // Mapa em memória (ID -> consulta), sem boxing das chaves
+    private final MapaIntObjeto<Consulta> consultas = new MapaIntObjeto<>();
+
+    // Gerador de IDs únicos para novas consultas
+    private final GeradorIds geradorIds;
+
+    // IDs esperados por chave ao criar a lista de um paciente, médico ou minuto: uma tabela de
+    // 8 posições (48 bytes), que guarda 5 IDs antes de dobrar. Pacientes costumam ter poucas
+    // consultas; as listas dos médicos e dos horários cheios crescem conforme a necessidade.
+    private static final int IDS_POR_CHAVE = 4;
+
+    // Índices secundários: chave -> IDs das consultas
+    private final MapaIntObjeto<ConjuntoInt> porMedico = new MapaIntObjeto<>();
+    private final MapaIntObjeto<ConjuntoInt> porPaciente = new MapaIntObjeto<>();
+    private final ConjuntoInt[] porStatus = new ConjuntoInt[Consulta.Status.values().length];
+    private final TreeMap<Integer, ConjuntoInt> porMinuto = new TreeMap<>();
+
+    // Chaves com que cada consulta foi indexada, para retirá-la dos índices quando mudar
+    private final MapaIntObjeto<ChavesIndice> indexadas = new MapaIntObjeto<>();
+
+    // Indica se os índices secundários já foram montados
+    private boolean indexado;
+
+    /**
+     * Valores de uma consulta no momento em que ela foi indexada.
+     */
+    private static final class ChavesIndice {
+        final int medico;
+        final int paciente;
+        final int minuto;
+        final Consulta.Status status;
+
+        ChavesIndice(Consulta consulta) {
+            this.medico = consulta.getMedico().getId();
+            this.paciente = consulta.getPaciente().getId();
+            this.minuto = consulta.getMinuto();
+            this.status = consulta.getStatus();
+        }
+
+        boolean iguais(ChavesIndice outras) {
+            return medico == outras.medico && paciente == outras.paciente
+                    && minuto == outras.minuto && status == outras.status;
+        }
+    }
+
+    /**
+     * Parte dos IDs de um período, em ordem de data/hora, devolvida por {@link #idsPorPeriodo}.
+     */
+    public static final class BlocoIds {
+        private final int[] ids;
+        private final int proximoMinuto;
+        private final boolean fim;
+
+        BlocoIds(int[] ids, int proximoMinuto, boolean fim) {
+            this.ids = ids;
+            this.proximoMinuto = proximoMinuto;
+            this.fim = fim;
+        }
+
+        /**
+         * @return IDs do bloco, ordenados por data/hora e ID
+         */
+        public int[] getIds() {
+            return ids;
+        }
+
+        /**
+         * @return Minuto a partir do qual o próximo bloco deve ser pedido
+         */
+        public int getProximoMinuto() {
+            return proximoMinuto;
+        }
+
+        /**
+         * @return true se o período terminou (não há próximo bloco)
+         */
+        public boolean isFim() {
+            return fim;
+        }
+    }
+
+    /**
+     * Cria o repositório com IDs sequenciais (1, 2, 3...).
+     */
+    public ConsultaRepository() {
+        this(GeradorIds.sequencial());
+    }
+
+    /**
+     * Cria o repositório com uma estratégia de geração de IDs própria.
+     * @param geradorIds Gerador usado para as novas consultas
+     */
+    public ConsultaRepository(GeradorIds geradorIds) {
+        this.geradorIds = geradorIds;
+    }
+
+    /**
+     * Armazena uma nova consulta no repositório.
+     * Atribui automaticamente um ID e adiciona ao mapa de consultas.
+     * @param consulta A consulta a ser cadastrada (sem ID definido)
+     */
+    public synchronized void salvar(Consulta consulta) {
+        consulta.setId(geradorIds.proximo()); // Atribui um novo ID
+        consultas.put(consulta.getId(), consulta); // Adiciona ao mapa de consultas
+        indexar(consulta);
+    }
+
+    /**
+     * Armazena um lote de novas consultas de uma só vez.
+     * Atribui os IDs em sequência e adiciona todas ao mapa sob um único bloqueio.
+     * @param novasConsultas Consultas a serem cadastradas (sem ID definido)
+     */
+    public synchronized void salvarTodos(List<Consulta> novasConsultas) {
+        for (Consulta consulta : novasConsultas) {
+            consulta.setId(geradorIds.proximo()); // Atribui um novo ID
+            consultas.put(consulta.getId(), consulta);
+            indexar(consulta);
+        }
+    }
+
+    /**
+     * Retorna uma lista com todas as consultas cadastradas.
+     * @return Cópia das consultas em ordem de ID (para evitar modificações externas)
+     */
+    public synchronized List<Consulta> listarTodos() {
+        List<Consulta> lista = consultas.valores(); // Cópia defensiva
+        lista.sort(Comparator.comparingInt(Consulta::getId));
+        return lista;
+    }
+
+    /**
+     * Retorna as consultas com data/hora no intervalo [inicio, fim), ordenadas por data/hora.
+     * A filtragem e a ordenação comparam apenas os minutos guardados em cada consulta.
+     * @param inicio Primeiro minuto do intervalo (inclusivo, minutos desde a época)
+     * @param fim    Minuto final do intervalo (exclusivo, minutos desde a época)
+     * @return Nova lista com as consultas do intervalo
+     */
+    public synchronized List<Consulta> listarPorPeriodo(int inicio, int fim) {
+        garantirIndices();
+        List<Consulta> lista = new ArrayList<>();
+        if (inicio >= fim) {
+            return lista;
+        }
+        for (ConjuntoInt ids : porMinuto.subMap(inicio, fim).values()) {
+            ids.forEach(id -> lista.add(consultas.get(id)));
+        }
+        lista.sort(Consulta::compararPorDataHora);
+        return lista;
+    }
+
+    /**
+     * Busca uma consulta pelo seu ID.
+     * @param id ID da consulta a ser localizada
+     * @return A consulta encontrada ou null se não existir
+     */
+    public synchronized Consulta buscarPorId(int id) {
+        return consultas.get(id); // Retorna null se não encontrar
+    }
+
+    /**
+     * Atualiza os dados de uma consulta existente.
+     * @param consultaAtualizada Consulta com os novos dados (deve conter ID válido)
+     * @return true se a consulta existia e foi atualizada
+     */
+    public synchronized boolean atualizar(Consulta consultaAtualizada) {
+        if (consultas.containsKey(consultaAtualizada.getId())) {
+            consultas.put(consultaAtualizada.getId(), consultaAtualizada); // Substitui a consulta
+            indexar(consultaAtualizada);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove uma consulta do repositório.
+     * @param consulta Consulta a ser removida (identificada pelo ID)
+     * @return true se a consulta existia e foi removida
+     */
+    public synchronized boolean deletar(Consulta consulta) {
+        if (consultas.remove(consulta.getId()) == null) { // Remove por ID
+            return false;
+        }
+        desindexar(consulta.getId());
+        return true;
+    }
+
+    /**
+     * @return Número de consultas armazenadas
+     */
+    public synchronized int contar() {
+        return consultas.size();
+    }
+
+    // ==================== ÍNDICES ====================
+
+    /**
+     * Monta os índices secundários agora, em vez de esperar pela primeira leitura que os usa.
+     * Depois disso, cada gravação passa a atualizá-los.
+     */
+    public synchronized void construirIndices() {
+        garantirIndices();
+    }
+
+    /**
+     * @return Número de consultas do médico
+     */
+    public synchronized int contarPorMedico(int idMedico) {
+        garantirIndices();
+        ConjuntoInt ids = porMedico.get(idMedico);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * @return Número de consultas do paciente
+     */
+    public synchronized int contarPorPaciente(int idPaciente) {
+        garantirIndices();
+        ConjuntoInt ids = porPaciente.get(idPaciente);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * @return Número de consultas com o status
+     */
+    public synchronized int contarPorStatus(Consulta.Status status) {
+        garantirIndices();
+        ConjuntoInt ids = porStatus[status.ordinal()];
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Conta as consultas do período [inicio, fim), parando ao atingir {@code limite}.
+     *
+     * @return Número de consultas do período, ou {@code limite} se houver ao menos essa quantidade
+     */
+    public synchronized int contarPorPeriodo(int inicio, int fim, int limite) {
+        garantirIndices();
+        int total = 0;
+        if (inicio < fim) {
+            for (ConjuntoInt ids : porMinuto.subMap(inicio, fim).values()) {
+                total += ids.size();
+                if (total >= limite) {
+                    return limite;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return IDs das consultas do médico, ordenados por data/hora e ID
+     */
+    public synchronized int[] idsPorMedico(int idMedico) {
+        garantirIndices();
+        return ordenarPorHorario(porMedico.get(idMedico));
+    }
+
+    /**
+     * @return IDs das consultas do paciente, ordenados por data/hora e ID
+     */
+    public synchronized int[] idsPorPaciente(int idPaciente) {
+        garantirIndices();
+        return ordenarPorHorario(porPaciente.get(idPaciente));
+    }
+
+    /**
+     * Chaves de ordenação das consultas do paciente: o minuto nos 32 bits altos e o ID nos
+     * 32 bits baixos, de modo que a ordem dos {@code long} é a ordem por data/hora e ID.
+     *
+     * @return Chaves das consultas do paciente, em ordem crescente
+     */
+    public synchronized long[] chavesPorPaciente(int idPaciente) {
+        garantirIndices();
+        return chavesOrdenadas(porPaciente.get(idPaciente));
+    }
+
+    /**
+     * @return IDs das consultas com o status, ordenados por data/hora e ID
+     */
+    public synchronized int[] idsPorStatus(Consulta.Status status) {
+        garantirIndices();
+        return ordenarPorHorario(porStatus[status.ordinal()]);
+    }
+
+    /**
+     * Lê os IDs do período [inicio, fim) em blocos, em ordem de data/hora e ID.
+     * Cada bloco contém minutos inteiros, até juntar pelo menos {@code minimo} IDs, de modo
+     * que o período pode ser percorrido aos poucos sem manter o bloqueio entre um bloco e outro.
+     *
+     * @param inicio Primeiro minuto a ler (inclusivo)
+     * @param fim    Minuto final do período (exclusivo)
+     * @param minimo Quantidade de IDs a partir da qual o bloco é encerrado
+     * @return Bloco com os IDs e o minuto em que o próximo bloco começa
+     */
+    public synchronized BlocoIds idsPorPeriodo(int inicio, int fim, int minimo) {
+        garantirIndices();
+        if (inicio >= fim) {
+            return new BlocoIds(new int[0], fim, true);
+        }
+        return lerBloco(porMinuto.subMap(inicio, fim), fim, minimo);
+    }
+
+    /**
+     * Lê em blocos os IDs a partir de um minuto, sem limite superior (inclusive o minuto
+     * {@link Integer#MAX_VALUE}, que nenhum intervalo [inicio, fim) de {@code int} alcança).
+     *
+     * @param inicio Primeiro minuto a ler (inclusivo)
+     * @param minimo Quantidade de IDs a partir da qual o bloco é encerrado
+     * @return Bloco com os IDs e o minuto em que o próximo bloco começa
+     * @see #idsPorPeriodo(int, int, int)
+     */
+    public synchronized BlocoIds idsAPartirDe(int inicio, int minimo) {
+        garantirIndices();
+        return lerBloco(porMinuto.tailMap(inicio, true), Integer.MAX_VALUE + 1L, minimo);
+    }
+
+    /**
+     * Junta os IDs dos minutos do trecho até atingir {@code minimo}.
+     *
+     * @param fim Minuto final exclusivo do trecho, como {@code long} para representar o fim após
+     *            {@link Integer#MAX_VALUE}
+     */
+    private BlocoIds lerBloco(SortedMap<Integer, ConjuntoInt> trecho, long fim, int minimo) {
+        int[] ids = new int[0];
+        int tamanho = 0;
+        for (Map.Entry<Integer, ConjuntoInt> entrada : trecho.entrySet()) {
+            int[] doMinuto = entrada.getValue().toArray();
+            Arrays.sort(doMinuto);
+            if (tamanho + doMinuto.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(tamanho + doMinuto.length, Math.max(16, ids.length * 2)));
+            }
+            System.arraycopy(doMinuto, 0, ids, tamanho, doMinuto.length);
+            tamanho += doMinuto.length;
+            long proximo = entrada.getKey() + 1L; // Em long: o minuto seguinte a Integer.MAX_VALUE não cabe num int
+            if (tamanho >= minimo && proximo < fim) {
+                return new BlocoIds(Arrays.copyOf(ids, tamanho), (int) proximo, false);
+            }
+        }
+        return new BlocoIds(Arrays.copyOf(ids, tamanho), (int) Math.min(fim, Integer.MAX_VALUE), true);
+    }
+
+    /**
+     * Na primeira chamada, indexa todas as consultas já gravadas.
+     */
+    private void garantirIndices() {
+        if (!indexado) {
+            indexado = true;
+            for (Consulta consulta : consultas.valores()) {
+                indexar(consulta);
+            }
+        }
+    }
+
+    /**
+     * Coloca a consulta nos índices, retirando antes as entradas antigas se os valores mudaram.
+     * Não faz nada enquanto os índices não tiverem sido montados.
+     */
+    private void indexar(Consulta consulta) {
+        if (!indexado) {
+            return;
+        }
+        ChavesIndice novas = new ChavesIndice(consulta);
+        ChavesIndice antigas = indexadas.get(consulta.getId());
+        if (antigas != null) {
+            if (antigas.iguais(novas)) {
+                return;
+            }
+            desindexar(consulta.getId());
+        }
+        int id = consulta.getId();
+        adicionar(porMedico, novas.medico, id);
+        adicionar(porPaciente, novas.paciente, id);
+        int s = novas.status.ordinal();
+        if (porStatus[s] == null) {
+            porStatus[s] = new ConjuntoInt();
+        }
+        porStatus[s].add(id);
+        porMinuto.computeIfAbsent(novas.minuto, m -> new ConjuntoInt(IDS_POR_CHAVE)).add(id);
+        indexadas.put(id, novas);
+    }
+
+    private void desindexar(int id) {
+        ChavesIndice chaves = indexadas.remove(id);
+        if (chaves == null) {
+            return;
+        }
+        remover(porMedico, chaves.medico, id);
+        remover(porPaciente, chaves.paciente, id);
+        porStatus[chaves.status.ordinal()].remove(id);
+        ConjuntoInt doMinuto = porMinuto.get(chaves.minuto);
+        if (doMinuto != null && doMinuto.remove(id) && doMinuto.isEmpty()) {
+            porMinuto.remove(chaves.minuto);
+        }
+    }
+
+    private static void adicionar(MapaIntObjeto<ConjuntoInt> indice, int chave, int id) {
+        ConjuntoInt ids = indice.get(chave);
+        if (ids == null) {
+            ids = new ConjuntoInt(IDS_POR_CHAVE);
+            indice.put(chave, ids);
+        }
+        ids.add(id);
+    }
+
+    private static void remover(MapaIntObjeto<ConjuntoInt> indice, int chave, int id) {
+        ConjuntoInt ids = indice.get(chave);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            indice.remove(chave);
+        }
+    }
+
+    /**
+     * Ordena os IDs por data/hora e ID, comparando só inteiros (minuto e ID empacotados num long).
+     */
+    private int[] ordenarPorHorario(ConjuntoInt ids) {
+        long[] chaves = chavesOrdenadas(ids);
+        int[] copia = new int[chaves.length];
+        for (int i = 0; i < chaves.length; i++) {
+            copia[i] = (int) chaves[i];
+        }
+        return copia;
+    }
+
+    private long[] chavesOrdenadas(ConjuntoInt ids) {
+        if (ids == null) {
+            return new long[0];
+        }
+        int[] copia = ids.toArray();
+        long[] chaves = new long[copia.length];
+        for (int i = 0; i < copia.length; i++) {
+            chaves[i] = ((long) indexadas.get(copia[i]).minuto << 32) | (copia[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(chaves);
+        return chaves;
+    }
 }
\ No newline at end of file
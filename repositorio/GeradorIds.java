@@ -0,0 +1,70 @@
+package repositorio;
+
+/**
+ * Estratégia de geração de IDs usada pelos repositórios.
+ *
+ * As chamadas acontecem sempre dentro dos métodos sincronizados do repositório,
+ * por isso as implementações não precisam ser thread-safe.
+ */
+public interface GeradorIds {
+
+    // Número de bits menos significativos do ID reservados para a partição
+    int BITS_PARTICAO = 8;
+
+    // Número máximo de partições representáveis no ID
+    int MAX_PARTICOES = 1 << BITS_PARTICAO;
+
+    /**
+     * @return Próximo ID (sempre maior que zero)
+     */
+    int proximo();
+
+    /**
+     * Cria um gerador sequencial que começa em 1.
+     *
+     * @return Gerador de IDs 1, 2, 3...
+     */
+    static GeradorIds sequencial() {
+        return new GeradorIds() {
+            private int idContador = 1;
+
+            @Override
+            public int proximo() {
+                return idContador++;
+            }
+        };
+    }
+
+    /**
+     * Cria um gerador local a uma partição, que codifica a partição nos bits baixos do ID.
+     *
+     * @param particao Número da partição (de 0 a {@link #MAX_PARTICOES} - 1)
+     * @return Gerador de IDs da partição
+     */
+    static GeradorIds particionado(int particao) {
+        if (particao < 0 || particao >= MAX_PARTICOES) {
+            throw new IllegalArgumentException("Partição inválida: " + particao);
+        }
+        return new GeradorIds() {
+            private int idContador = 1;
+
+            @Override
+            public int proximo() {
+                if (idContador > (Integer.MAX_VALUE >>> BITS_PARTICAO)) {
+                    throw new IllegalStateException("IDs esgotados na partição " + particao);
+                }
+                return (idContador++ << BITS_PARTICAO) | particao;
+            }
+        };
+    }
+
+    /**
+     * Extrai a partição de um ID gerado por {@link #particionado(int)}.
+     *
+     * @param id ID gerado
+     * @return Número da partição
+     */
+    static int particaoDoId(int id) {
+        return id & (MAX_PARTICOES - 1);
+    }
+}
@@ -1,70 +1,86 @@
-package repositorio;
-
-import entidade.Medico;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Classe responsável por armazenar e gerenciar os dados dos médicos em memória.
- * Implementa operações básicas de CRUD (Create, Read, Update, Delete).
- */
-public class MedicoRepository {
-
-    // Lista em memória para armazenar os médicos cadastrados
-    private List<Medico> medicos = new ArrayList<>();
-
-    // Contador para gerar IDs únicos e sequenciais
-    private int idContador = 1;
-
-    /**
-     * Salva um novo médico no repositório.
-     * Atribui um ID automático e adiciona à lista.
-     * @param medico O médico a ser cadastrado (sem ID)
-     */
-    public void salvar(Medico medico) {
-        medico.setId(idContador++); // Atribui um novo ID e incrementa o contador
-        medicos.add(medico); // Adiciona o médico à lista
-    }
-
-    /**
-     * Busca um médico pelo seu ID
-     * @param id O ID do médico a ser encontrado
-     * @return O médico encontrado ou null se não existir
-     */
-    public Medico buscarPorId(int id) {
-        return medicos.stream() // Converte a lista em um Stream para operações funcionais
-                .filter(m -> m.getId() == id) // Filtra médicos com o ID especificado
-                .findFirst() // Pega o primeiro resultado (se existir)
-                .orElse(null); // Retorna null caso não encontre
-    }
-
-    /**
-     * Retorna uma lista com todos os médicos cadastrados.
-     * @return Uma cópia da lista de médicos (para evitar modificações externas)
-     */
-    public List<Medico> listarTodos() {
-        return new ArrayList<>(medicos); // Retorna uma cópia para evitar alterações indesejadas
-    }
-
-    /**
-     * Atualiza os dados de um médico existente
-     * @param medico O médico com os novos dados (deve conter um ID válido)
-     */
-    public void atualizar(Medico medico) {
-        Medico existente = buscarPorId(medico.getId()); // Busca o médico pelo ID
-
-        // Se encontrou, atualiza nome e especialidade
-        if (existente != null) {
-            existente.setNome(medico.getNome());
-            existente.setEspecialidade(medico.getEspecialidade());
-        }
-    }
-
-    /**
-     * Remove um médico da lista.
-     * @param medico O médico a ser removido (identificado pelo ID)
-     */
-    public void deletar(Medico medico) {
-        medicos.removeIf(m -> m.getId() == medico.getId()); // Remove se o ID corresponder
-    }
+package repositorio;
+
+import colecao.MapaIntObjeto;
+import entidade.Medico;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Classe responsável por armazenar e gerenciar os dados dos médicos em memória.
+ * Implementa operações básicas de CRUD (Create, Read, Update, Delete).
+ * Os métodos são sincronizados para permitir acesso a partir de várias threads.
+ */
+public class MedicoRepository {
+
+    // Mapa em memória (ID -> médico) para armazenar os médicos cadastrados
+    private final MapaIntObjeto<Medico> medicos = new MapaIntObjeto<>();
+
+    // Gerador de IDs únicos para novos médicos
+    private final GeradorIds geradorIds;
+
+    /**
+     * Cria o repositório com IDs sequenciais (1, 2, 3...).
+     */
+    public MedicoRepository() {
+        this(GeradorIds.sequencial());
+    }
+
+    /**
+     * Cria o repositório com uma estratégia de geração de IDs própria.
+     * @param geradorIds Gerador usado para os novos médicos
+     */
+    public MedicoRepository(GeradorIds geradorIds) {
+        this.geradorIds = geradorIds;
+    }
+
+    /**
+     * Salva um novo médico no repositório.
+     * Atribui um ID automático e adiciona ao mapa.
+     * @param medico O médico a ser cadastrado (sem ID)
+     */
+    public synchronized void salvar(Medico medico) {
+        medico.setId(geradorIds.proximo()); // Atribui um novo ID
+        medicos.put(medico.getId(), medico); // Adiciona o médico ao mapa
+    }
+
+    /**
+     * Busca um médico pelo seu ID
+     * @param id O ID do médico a ser encontrado
+     * @return O médico encontrado ou null se não existir
+     */
+    public synchronized Medico buscarPorId(int id) {
+        return medicos.get(id); // Retorna null caso não encontre
+    }
+
+    /**
+     * Retorna uma lista com todos os médicos cadastrados.
+     * @return Uma cópia dos médicos em ordem de ID (para evitar modificações externas)
+     */
+    public synchronized List<Medico> listarTodos() {
+        List<Medico> lista = medicos.valores(); // Retorna uma cópia para evitar alterações indesejadas
+        lista.sort(Comparator.comparingInt(Medico::getId));
+        return lista;
+    }
+
+    /**
+     * Atualiza os dados de um médico existente
+     * @param medico O médico com os novos dados (deve conter um ID válido)
+     */
+    public synchronized void atualizar(Medico medico) {
+        Medico existente = buscarPorId(medico.getId()); // Busca o médico pelo ID
+
+        // Se encontrou, atualiza nome e especialidade
+        if (existente != null) {
+            existente.setNome(medico.getNome());
+            existente.setEspecialidade(medico.getEspecialidade());
+        }
+    }
+
+    /**
+     * Remove um médico do mapa.
+     * @param medico O médico a ser removido (identificado pelo ID)
+     */
+    public synchronized void deletar(Medico medico) {
+        medicos.remove(medico.getId()); // Remove se o ID existir
+    }
 }
\ No newline at end of file
@@ -1,77 +1,105 @@
-package repositorio;
-
-import entidade.Paciente;
-import erro.EntidadeNaoEncontradaException;
-import java.util.*;
-
-/**
- * Implementação de repositório para a entidade Paciente utilizando HashMap como armazenamento.
- * Oferece operações básicas de CRUD com controle de IDs automático.
- */
-public class PacienteRepository {
-
-    // Estrutura de armazenamento: Mapa onde:
-    // - Chave: Integer (ID do paciente)
-    // - Valor: Objeto Paciente
-    private Map<Integer, Paciente> pacientes = new HashMap<>();
-
-    // Contador para geração sequencial de IDs
-    // Inicia em 1 para evitar IDs zero (considerado como "não definido")
-    private int idContador = 1;
-
-    /**
-     * Salva um paciente no repositório.
-     * Se o paciente não possuir ID (ID = 0), gera um novo ID automaticamente.
-     * Caso já possua ID, atualiza o registro existente.
-     * @param paciente O paciente a ser salvo/atualizado
-     * @return O paciente salvo, agora com ID válido
-     */
-    public Paciente salvar(Paciente paciente) {
-        if (paciente.getId() == 0) { // Verifica se é um novo paciente
-            paciente.setId(idContador++); // Atribui novo ID e incrementa contador
-        }
-        pacientes.put(paciente.getId(), paciente); // Insere ou atualiza no mapa
-        return paciente;
-    }
-
-    /**
-     * Atualiza um paciente existente no repositório.
-     * Lança exceção se o paciente não for encontrado.
-     * @param paciente O paciente com os dados atualizados
-     * @return O paciente atualizado
-     * @throws EntidadeNaoEncontradaException Se o paciente não existir
-     */
-    public Paciente atualizar(Paciente paciente) {
-        if (!pacientes.containsKey(paciente.getId())) {
-            throw new EntidadeNaoEncontradaException("Paciente com ID " + paciente.getId() + " não encontrado.");
-        }
-        pacientes.put(paciente.getId(), paciente); // Sobrescreve o paciente existente
-        return paciente;
-    }
-
-    /**
-     * Busca um paciente pelo seu ID.
-     * @param id ID do paciente a ser buscado
-     * @return Optional contendo o paciente encontrado ou vazio se não existir
-     */
-    public Optional<Paciente> buscarPorId(int id) {
-        return Optional.ofNullable(pacientes.get(id)); // Retorna Optional para evitar null
-    }
-
-    /**
-     * Retorna uma lista com todos os pacientes cadastrados.
-     * @return Lista contendo todos os pacientes (cópia da coleção original)
-     */
-    public List<Paciente> buscarTodos() {
-        return new ArrayList<>(pacientes.values()); // Retorna cópia para segurança
-    }
-
-    /**
-     * Remove um paciente do repositório pelo seu ID.
-     * Não lança exceção se o ID não existir (comportamento padrão do HashMap).
-     * @param id ID do paciente a ser removido
-     */
-    public void deletar(int id) {
-        pacientes.remove(id); // Remove se existir, caso contrário não faz nada
-    }
+package repositorio;
+
+import colecao.MapaIntObjeto;
+import entidade.Paciente;
+import erro.EntidadeNaoEncontradaException;
+import java.util.*;
+
+/**
+ * Implementação de repositório para a entidade Paciente utilizando um mapa de chaves int como armazenamento.
+ * Oferece operações básicas de CRUD com controle de IDs automático.
+ * Os métodos são sincronizados para permitir acesso a partir de várias threads.
+ */
+public class PacienteRepository {
+
+    // Estrutura de armazenamento: Mapa onde:
+    // - Chave: int (ID do paciente, sem boxing)
+    // - Valor: Objeto Paciente
+    private final MapaIntObjeto<Paciente> pacientes = new MapaIntObjeto<>();
+
+    // Gerador de IDs para novos pacientes
+    // Nunca gera o ID zero (considerado como "não definido")
+    private final GeradorIds geradorIds;
+
+    /**
+     * Cria o repositório com IDs sequenciais (1, 2, 3...).
+     */
+    public PacienteRepository() {
+        this(GeradorIds.sequencial());
+    }
+
+    /**
+     * Cria o repositório com uma estratégia de geração de IDs própria.
+     * @param geradorIds Gerador usado para os novos pacientes
+     */
+    public PacienteRepository(GeradorIds geradorIds) {
+        this.geradorIds = geradorIds;
+    }
+
+    /**
+     * Salva um paciente no repositório.
+     * Se o paciente não possuir ID (ID = 0), gera um novo ID automaticamente.
+     * Caso já possua ID, atualiza o registro existente.
+     * @param paciente O paciente a ser salvo/atualizado
+     * @return O paciente salvo, agora com ID válido
+     */
+    public synchronized Paciente salvar(Paciente paciente) {
+        if (paciente.getId() == 0) { // Verifica se é um novo paciente
+            paciente.setId(geradorIds.proximo()); // Atribui novo ID
+        }
+        pacientes.put(paciente.getId(), paciente); // Insere ou atualiza no mapa
+        return paciente;
+    }
+
+    /**
+     * Atualiza um paciente existente no repositório.
+     * Lança exceção se o paciente não for encontrado.
+     * @param paciente O paciente com os dados atualizados
+     * @return O paciente atualizado
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public synchronized Paciente atualizar(Paciente paciente) {
+        if (!pacientes.containsKey(paciente.getId())) {
+            throw new EntidadeNaoEncontradaException("Paciente com ID " + paciente.getId() + " não encontrado.");
+        }
+        pacientes.put(paciente.getId(), paciente); // Sobrescreve o paciente existente
+        return paciente;
+    }
+
+    /**
+     * Busca um paciente pelo seu ID.
+     * @param id ID do paciente a ser buscado
+     * @return Optional contendo o paciente encontrado ou vazio se não existir
+     */
+    public synchronized Optional<Paciente> buscarPorId(int id) {
+        return Optional.ofNullable(pacientes.get(id)); // Retorna Optional para evitar null
+    }
+
+    /**
+     * Busca um paciente pelo seu ID sem criar objetos intermediários.
+     * @param id ID do paciente a ser buscado
+     * @return O paciente encontrado ou null se não existir
+     */
+    public synchronized Paciente buscarOuNulo(int id) {
+        return pacientes.get(id);
+    }
+
+    /**
+     * Retorna uma lista com todos os pacientes cadastrados.
+     * @return Lista contendo todos os pacientes em ordem de ID (cópia da coleção original)
+     */
+    public synchronized List<Paciente> buscarTodos() {
+        List<Paciente> lista = pacientes.valores(); // Retorna cópia para segurança
+        lista.sort(Comparator.comparingInt(Paciente::getId));
+        return lista;
+    }
+
+    /**
+     * Remove um paciente do repositório pelo seu ID.
+     * Não lança exceção se o ID não existir.
+     * @param id ID do paciente a ser removido
+     */
+    public synchronized void deletar(int id) {
+        pacientes.remove(id); // Remove se existir, caso contrário não faz nada
+    }
 }
\ No newline at end of file
@@ -1,100 +1,444 @@
-package servico;
-
-import entidade.*;
-import erro.EntidadeNaoEncontradaException;
-import repositorio.ConsultaRepository;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-/**
- * Serviço responsável pela lógica de negócios relacionada a consultas médicas.
- * Coordena operações entre PacienteService, MedicoService e ConsultaRepository.
- */
-public class ConsultaService {
-
-    // Dependências necessárias para o serviço
-    private ConsultaRepository consultaRepository = new ConsultaRepository();
-    private PacienteService pacienteService;
-    private MedicoService medicoService;
-
-    /**
-     * Construtor com injeção de dependências.
-     *
-     * @param pacienteService Serviço de pacientes
-     * @param medicoService   Serviço de médicos
-     */
-    public ConsultaService(PacienteService pacienteService, MedicoService medicoService) {
-        this.pacienteService = pacienteService;
-        this.medicoService = medicoService;
-    }
-
-    /**
-     * Agenda uma nova consulta médica.
-     * Valida a existência do paciente e médico antes do agendamento.
-     *
-     * @param idPaciente ID do paciente
-     * @param idMedico   ID do médico
-     * @param dataHora   Data e hora da consulta
-     * @return A consulta agendada
-     * @throws EntidadeNaoEncontradaException Se paciente ou médico não existirem
-     */
-    public Consulta agendarConsulta(int idPaciente, int idMedico, LocalDateTime dataHora) {
-        // Valida existência das entidades relacionadas
-        Paciente paciente = pacienteService.buscarPacientePorId(idPaciente);
-        Medico medico = medicoService.buscarMedicoPorId(idMedico);
-
-        // Cria e persiste a nova consulta
-        Consulta consulta = new Consulta(paciente, medico, dataHora);
-        consultaRepository.salvar(consulta);
-        return consulta;
-    }
-
-    /**
-     * Atualiza o status de uma consulta existente.
-     *
-     * @param idConsulta ID da consulta a ser atualizada
-     * @param status     Novo status da consulta
-     * @throws EntidadeNaoEncontradaException Se a consulta não for encontrada
-     */
-    public void atualizarStatusConsulta(int idConsulta, Consulta.Status status) {
-        Consulta consulta = buscarConsultaPorId(idConsulta);
-        consulta.setStatus(status);
-        consultaRepository.atualizar(consulta);
-    }
-
-    /**
-     * Busca uma consulta pelo seu ID.
-     *
-     * @param id ID da consulta
-     * @return A consulta encontrada
-     * @throws EntidadeNaoEncontradaException Se a consulta não existir
-     */
-    public Consulta buscarConsultaPorId(int id) {
-        Consulta consulta = consultaRepository.buscarPorId(id);
-        if (consulta == null) {
-            throw new EntidadeNaoEncontradaException("Consulta com ID " + id + " não encontrada.");
-        }
-        return consulta;
-    }
-
-    /**
-     * Retorna todas as consultas agendadas.
-     *
-     * @return Lista de consultas
-     */
-    public List<Consulta> listarConsultas() {
-        return consultaRepository.listarTodos();
-    }
-
-    /**
-     * Remove uma consulta do sistema.
-     *
-     * @param id ID da consulta a ser removida
-     * @throws EntidadeNaoEncontradaException Se a consulta não for encontrada
-     */
-    public void deletarConsulta(int id) {
-        Consulta consulta = buscarConsultaPorId(id);
-        consultaRepository.deletar(consulta);
-    }
+package servico;
+
+import entidade.*;
+import erro.EntidadeAusenteException;
+import erro.EntidadeNaoEncontradaException;
+import evento.Assinante;
+import evento.BarramentoEventos;
+import evento.EventoAlteracao;
+import evento.EventoConsulta;
+import evento.TipoAlteracao;
+import pesquisa.PesquisaConsultas;
+import pesquisa.PlanejadorConsultas;
+import pesquisa.PlanoConsulta;
+import repositorio.ConsultaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Serviço responsável pela lógica de negócios relacionada a consultas médicas.
+ * Coordena operações entre PacienteService, MedicoService e ConsultaRepository.
+ */
+public class ConsultaService {
+
+    // Dependências necessárias para o serviço
+    private ConsultaRepository consultaRepository;
+    private PacienteService pacienteService;
+    private MedicoService medicoService;
+
+    // Barramento onde são publicadas as alterações de consultas
+    private final BarramentoEventos<EventoConsulta> eventos = new BarramentoEventos<>("eventos-consulta");
+
+    // Contadores materializados para painéis, mantidos a cada alteração
+    private final PainelConsultas painel = new PainelConsultas();
+
+    // Linhas do tempo dos pacientes abertos recentemente
+    private final HistoricoPacientes historicos;
+
+    // Planejador das pesquisas, sobre os índices do repositório
+    private final PlanejadorConsultas planejador;
+
+    // Pipeline de agendamento assíncrono, criado apenas no primeiro uso
+    private PipelineAgendamento pipeline;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param pacienteService Serviço de pacientes
+     * @param medicoService   Serviço de médicos
+     */
+    public ConsultaService(PacienteService pacienteService, MedicoService medicoService) {
+        this(pacienteService, medicoService, new ConsultaRepository());
+    }
+
+    /**
+     * Construtor com injeção de dependências, incluindo o repositório (ex.: o de uma partição).
+     *
+     * @param pacienteService    Serviço de pacientes
+     * @param medicoService      Serviço de médicos
+     * @param consultaRepository Repositório de consultas
+     */
+    public ConsultaService(PacienteService pacienteService, MedicoService medicoService,
+                           ConsultaRepository consultaRepository) {
+        this.pacienteService = pacienteService;
+        this.medicoService = medicoService;
+        this.consultaRepository = consultaRepository;
+        this.planejador = new PlanejadorConsultas(consultaRepository);
+        this.historicos = new HistoricoPacientes(consultaRepository, HistoricoPacientes.CAPACIDADE_PADRAO);
+
+        // Trocas de especialidade movem as consultas do médico nos contadores semanais do painel
+        medicoService.eventos().inscrever("painel", new Assinante<EventoAlteracao<Medico>>() {
+            @Override
+            public void receber(List<? extends EventoAlteracao<Medico>> lote) {
+                for (EventoAlteracao<Medico> evento : lote) {
+                    if (evento.getTipo() == TipoAlteracao.ATUALIZACAO) {
+                        painel.registrarEspecialidade(evento.getEntidade());
+                    }
+                }
+            }
+
+            @Override
+            public void ressincronizar() {
+                painel.registrarEspecialidades();
+            }
+        });
+    }
+
+    /**
+     * Agenda uma nova consulta médica.
+     * Valida a existência do paciente e médico antes do agendamento.
+     *
+     * @param idPaciente ID do paciente
+     * @param idMedico   ID do médico
+     * @param dataHora   Data e hora da consulta
+     * @return A consulta agendada
+     * @throws EntidadeNaoEncontradaException Se paciente ou médico não existirem
+     */
+    public Consulta agendarConsulta(int idPaciente, int idMedico, LocalDateTime dataHora) {
+        // Cria e persiste a nova consulta
+        Consulta consulta = criarConsulta(idPaciente, idMedico, dataHora);
+        painel.registrarCriacao(consulta); // Antes de salvar: ninguém mais vê a consulta ainda
+        synchronized (consulta) {
+            consultaRepository.salvar(consulta);
+            historicos.adicionar(consulta);
+            publicar(TipoAlteracao.CRIACAO, consulta, null, consulta.getStatus());
+        }
+        return consulta;
+    }
+
+    /**
+     * Agenda uma nova consulta de forma assíncrona.
+     * O pedido entra numa fila limitada e é processado em lote por uma única thread escritora.
+     * Se a fila estiver cheia, o chamador fica bloqueado até haver espaço (contrapressão).
+     *
+     * @param idPaciente ID do paciente
+     * @param idMedico   ID do médico
+     * @param dataHora   Data e hora da consulta
+     * @return Future concluído com a consulta agendada, ou com
+     *         {@link EntidadeNaoEncontradaException} se paciente ou médico não existirem
+     */
+    public CompletableFuture<Consulta> agendarConsultaAsync(int idPaciente, int idMedico, LocalDateTime dataHora) {
+        return obterPipeline().submeter(idPaciente, idMedico, dataHora);
+    }
+
+    /**
+     * Encerra o pipeline de agendamento assíncrono, se tiver sido iniciado.
+     * Pedidos ainda na fila são processados antes do encerramento.
+     */
+    public synchronized void encerrarAgendamentoAssincrono() {
+        if (pipeline != null) {
+            pipeline.encerrar();
+            pipeline = null;
+        }
+    }
+
+    /**
+     * Retorna o pipeline de agendamento, criando-o no primeiro uso.
+     */
+    private synchronized PipelineAgendamento obterPipeline() {
+        if (pipeline == null) {
+            pipeline = new PipelineAgendamento(this, PipelineAgendamento.CAPACIDADE_PADRAO,
+                    PipelineAgendamento.TAMANHO_LOTE_PADRAO);
+        }
+        return pipeline;
+    }
+
+    /**
+     * Valida paciente e médico e cria a consulta, sem persisti-la.
+     * IDs inexistentes são esperados aqui (pedidos de integrações), então a ausência é
+     * sinalizada com a exceção leve, sem pilha de chamadas.
+     *
+     * @throws EntidadeNaoEncontradaException Se paciente ou médico não existirem
+     */
+    Consulta criarConsulta(int idPaciente, int idMedico, LocalDateTime dataHora) {
+        // Valida existência das entidades relacionadas
+        Paciente paciente = pacienteService.buscarPacienteOuNulo(idPaciente);
+        if (paciente == null) {
+            throw EntidadeAusenteException.paciente(idPaciente);
+        }
+        Medico medico = medicoService.buscarMedicoOuNulo(idMedico);
+        if (medico == null) {
+            throw EntidadeAusenteException.medico(idMedico);
+        }
+        return new Consulta(paciente, medico, dataHora);
+    }
+
+    /**
+     * Persiste um lote de consultas já validadas numa única operação do repositório.
+     */
+    void salvarLote(List<Consulta> consultas) {
+        for (Consulta consulta : consultas) {
+            painel.registrarCriacao(consulta);
+        }
+        consultaRepository.salvarTodos(consultas);
+        for (Consulta consulta : consultas) {
+            synchronized (consulta) {
+                // Já visível no repositório: pode ter sido removida antes de chegar aqui
+                if (consultaRepository.buscarPorId(consulta.getId()) == consulta) {
+                    historicos.adicionar(consulta);
+                    publicar(TipoAlteracao.CRIACAO, consulta, null, consulta.getStatus());
+                }
+            }
+        }
+    }
+
+    /**
+     * Atualiza o status de uma consulta existente.
+     *
+     * @param idConsulta ID da consulta a ser atualizada
+     * @param status     Novo status da consulta
+     * @throws EntidadeNaoEncontradaException Se a consulta não for encontrada
+     */
+    public void atualizarStatusConsulta(int idConsulta, Consulta.Status status) {
+        Consulta consulta = buscarConsultaPorId(idConsulta);
+        // O bloqueio da consulta garante que o painel veja cada transição uma única vez e que
+        // os eventos saiam na ordem das alterações
+        synchronized (consulta) {
+            Consulta.Status anterior = consulta.getStatus();
+            consulta.setStatus(status);
+            if (consultaRepository.atualizar(consulta)) {
+                painel.registrarStatus(anterior, status);
+            }
+            publicar(TipoAlteracao.ATUALIZACAO, consulta, anterior, status);
+        }
+    }
+
+    /**
+     * Altera o status de uma consulta somente se ele ainda for o esperado (comparar e trocar).
+     * A leitura e a escrita do status acontecem sob o mesmo bloqueio da consulta, então uma
+     * alteração concorrente nunca é sobrescrita.
+     *
+     * @param idConsulta ID da consulta
+     * @param esperado   Status que a consulta deve ter para ser alterada
+     * @param novo       Novo status da consulta
+     * @return true se o status foi alterado; false se a consulta não existir mais ou se o
+     *         status atual for diferente do esperado
+     */
+    public boolean transicionarStatus(int idConsulta, Consulta.Status esperado, Consulta.Status novo) {
+        Consulta consulta = consultaRepository.buscarPorId(idConsulta);
+        if (consulta == null) {
+            return false;
+        }
+        synchronized (consulta) {
+            if (consulta.getStatus() != esperado) {
+                return false;
+            }
+            consulta.setStatus(novo);
+            if (!consultaRepository.atualizar(consulta)) {
+                consulta.setStatus(esperado); // Removida antes do bloqueio: nada foi alterado
+                return false;
+            }
+            painel.registrarStatus(esperado, novo);
+            publicar(TipoAlteracao.ATUALIZACAO, consulta, esperado, novo);
+        }
+        return true;
+    }
+
+    /**
+     * Reagenda uma consulta existente para uma nova data/hora.
+     *
+     * @param idConsulta   ID da consulta a ser reagendada
+     * @param novaDataHora Nova data e hora da consulta
+     * @throws EntidadeNaoEncontradaException Se a consulta não for encontrada
+     */
+    public void reagendarConsulta(int idConsulta, LocalDateTime novaDataHora) {
+        Consulta consulta = buscarConsultaPorId(idConsulta);
+        synchronized (consulta) {
+            int minutoAnterior = consulta.getMinuto();
+            consulta.setDataHora(novaDataHora);
+            if (consultaRepository.atualizar(consulta)) {
+                painel.registrarHorario(consulta, minutoAnterior);
+                historicos.mover(consulta, minutoAnterior);
+            }
+            publicar(TipoAlteracao.ATUALIZACAO, consulta, consulta.getStatus(), consulta.getStatus());
+        }
+    }
+
+    /**
+     * Busca uma consulta pelo seu ID.
+     *
+     * @param id ID da consulta
+     * @return A consulta encontrada
+     * @throws EntidadeNaoEncontradaException Se a consulta não existir
+     */
+    public Consulta buscarConsultaPorId(int id) {
+        Consulta consulta = consultaRepository.buscarPorId(id);
+        if (consulta == null) {
+            throw new EntidadeNaoEncontradaException("Consulta com ID " + id + " não encontrada.");
+        }
+        return consulta;
+    }
+
+    /**
+     * Busca uma consulta pelo ID sem alocar nada, nem mesmo em caso de ausência.
+     *
+     * @param id ID da consulta
+     * @return A consulta encontrada, ou null se não existir
+     */
+    public Consulta buscarConsultaOuNulo(int id) {
+        return consultaRepository.buscarPorId(id);
+    }
+
+    /**
+     * Verifica se uma consulta existe, sem alocar nada.
+     *
+     * @param id ID da consulta
+     * @return true se a consulta existir
+     */
+    public boolean existeConsulta(int id) {
+        return consultaRepository.buscarPorId(id) != null;
+    }
+
+    /**
+     * Retorna todas as consultas agendadas.
+     *
+     * @return Lista de consultas
+     */
+    public List<Consulta> listarConsultas() {
+        return consultaRepository.listarTodos();
+    }
+
+    /**
+     * Retorna as consultas com data/hora no intervalo [inicio, fim), em ordem cronológica.
+     *
+     * @param inicio Início do período (inclusivo)
+     * @param fim    Fim do período (exclusivo)
+     * @return Lista de consultas do período
+     */
+    public List<Consulta> listarConsultasPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return consultaRepository.listarPorPeriodo(Consulta.paraMinuto(inicio), Consulta.paraMinuto(fim));
+    }
+
+    /**
+     * Retorna a primeira página do histórico do paciente (consultas mais recentes primeiro).
+     *
+     * @param idPaciente ID do paciente
+     * @param limite     Número máximo de consultas na página
+     * @return Página do histórico, com o cursor da página seguinte
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public PaginaHistorico historicoPaciente(int idPaciente, int limite) {
+        return historicoPaciente(idPaciente, PaginaHistorico.INICIO, limite);
+    }
+
+    /**
+     * Retorna uma página do histórico do paciente, da consulta mais recente para a mais antiga.
+     * A linha do tempo do paciente fica em memória depois da primeira abertura, então o custo
+     * de cada página não cresce com o tamanho do histórico.
+     *
+     * @param idPaciente ID do paciente
+     * @param cursor     {@link PaginaHistorico#INICIO} ou o cursor devolvido pela página anterior
+     * @param limite     Número máximo de consultas na página
+     * @return Página do histórico, com o cursor da página seguinte
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public PaginaHistorico historicoPaciente(int idPaciente, long cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite deve ser positivo.");
+        }
+        if (!pacienteService.existePaciente(idPaciente)) {
+            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + idPaciente);
+        }
+        return historicos.pagina(idPaciente, cursor, limite);
+    }
+
+    /**
+     * Pesquisa consultas pelos critérios informados, usando o caminho de acesso mais seletivo.
+     * Os resultados vêm em ordem de data/hora e são lidos sob demanda.
+     *
+     * @param pesquisa Critérios, paginação e limite
+     * @return Consultas encontradas
+     */
+    public Stream<Consulta> pesquisar(PesquisaConsultas pesquisa) {
+        return planejador.planejar(pesquisa).executar();
+    }
+
+    /**
+     * Escolhe o plano de uma pesquisa sem executá-la.
+     *
+     * @param pesquisa Critérios da pesquisa
+     * @return Plano, que pode ser explicado ({@link PlanoConsulta#explicar()}) ou executado
+     */
+    public PlanoConsulta planejar(PesquisaConsultas pesquisa) {
+        return planejador.planejar(pesquisa);
+    }
+
+    /**
+     * Descreve como a pesquisa seria executada.
+     *
+     * @param pesquisa Critérios da pesquisa
+     * @return Caminho de acesso escolhido, alternativas consideradas e critérios
+     */
+    public String explicar(PesquisaConsultas pesquisa) {
+        return planejador.planejar(pesquisa).explicar();
+    }
+
+    /**
+     * Remove uma consulta do sistema.
+     *
+     * @param id ID da consulta a ser removida
+     * @throws EntidadeNaoEncontradaException Se a consulta não for encontrada
+     */
+    public void deletarConsulta(int id) {
+        Consulta consulta = buscarConsultaPorId(id);
+        synchronized (consulta) {
+            if (consultaRepository.deletar(consulta)) {
+                painel.registrarRemocao(consulta);
+                historicos.remover(consulta);
+            }
+            publicar(TipoAlteracao.REMOCAO, consulta, consulta.getStatus(), null);
+        }
+    }
+
+    /**
+     * Retorna os contadores de painel (por status, por médico e dia, por especialidade e semana).
+     * As leituras não percorrem as consultas.
+     *
+     * @return Painel de contadores
+     */
+    public PainelConsultas painel() {
+        return painel;
+    }
+
+    /**
+     * Compara os contadores do painel com uma contagem completa das consultas.
+     * Deve ser chamado sem escritas em andamento, ou as escritas aparecem como diferenças
+     * (o mesmo vale para trocas de especialidade que o painel ainda não recebeu).
+     *
+     * @return Uma linha por contador divergente (vazia se o painel estiver consistente)
+     */
+    public List<String> verificarPainel() {
+        return painel.verificar(consultaRepository.listarTodos());
+    }
+
+    /**
+     * Recalcula os contadores do painel a partir das consultas (ex.: se
+     * {@link #verificarPainel()} apontar diferenças). Deve ser chamado sem escritas em andamento.
+     */
+    public void recalcularPainel() {
+        painel.recalcular(consultaRepository.listarTodos());
+    }
+
+    /**
+     * Retorna o barramento onde as alterações de consultas são publicadas,
+     * incluindo as transições de status (AGENDADA para REALIZADA, CANCELADA ou NAO_COMPARECEU).
+     *
+     * @return Barramento de eventos de consultas
+     */
+    public BarramentoEventos<EventoConsulta> eventos() {
+        return eventos;
+    }
+
+    /**
+     * Publica uma alteração, evitando criar o evento quando não há assinantes.
+     * Chamado sob o bloqueio da consulta; a publicação nunca bloqueia.
+     */
+    private void publicar(TipoAlteracao tipo, Consulta consulta, Consulta.Status anterior, Consulta.Status novo) {
+        if (eventos.temAssinantes()) {
+            eventos.publicar(new EventoConsulta(tipo, consulta, anterior, novo));
+        }
+    }
 }
\ No newline at end of file
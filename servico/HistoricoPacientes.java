@@ -0,0 +1,145 @@
+package servico;
+
+import entidade.Consulta;
+import repositorio.ConsultaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linhas do tempo dos pacientes abertos recentemente, usadas por {@link ConsultaService}.
+ *
+ * A linha do tempo de um paciente é a lista das suas consultas ordenada por data/hora e ID,
+ * guardada como chaves {@code long} (ver {@link ConsultaRepository#chavesPorPaciente(int)}).
+ * Ela é montada a partir do índice do repositório na primeira vez que o paciente é aberto
+ * e, enquanto estiver em memória, acompanha cada agendamento, reagendamento e remoção; novas
+ * consultas costumam ser as mais recentes, então a inserção é quase sempre no fim.
+ * Ler uma página custa uma busca binária mais o tamanho da página, por maior que seja o
+ * histórico. Só as {@code capacidade} linhas abertas há menos tempo ficam em memória.
+ *
+ * As linhas guardam IDs, não consultas: o status exibido é sempre o atual. As operações de
+ * escrita são idempotentes, para que a ordem entre montar uma linha e aplicar uma alteração
+ * que o repositório já contém não importe.
+ */
+class HistoricoPacientes {
+
+    // Número padrão de linhas do tempo mantidas em memória
+    static final int CAPACIDADE_PADRAO = 1024;
+
+    private final ConsultaRepository repository;
+    private final int capacidade;
+
+    // Ordem de inserção: a linha aberta há mais tempo é a primeira (só a abertura a move para o fim)
+    private final LinkedHashMap<Integer, LinhaTempo> linhas = new LinkedHashMap<>();
+
+    /**
+     * Chaves de um paciente em ordem crescente.
+     */
+    private static final class LinhaTempo {
+        long[] chaves;
+        int tamanho;
+
+        LinhaTempo(long[] chaves) {
+            this.chaves = chaves;
+            this.tamanho = chaves.length;
+        }
+
+        void adicionar(long chave) {
+            int posicao = tamanho;
+            if (tamanho > 0 && chave <= chaves[tamanho - 1]) {
+                int encontrada = Arrays.binarySearch(chaves, 0, tamanho, chave);
+                if (encontrada >= 0) {
+                    return;
+                }
+                posicao = -encontrada - 1;
+            }
+            if (tamanho == chaves.length) {
+                chaves = Arrays.copyOf(chaves, Math.max(8, tamanho * 2));
+            }
+            System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+            chaves[posicao] = chave;
+            tamanho++;
+        }
+
+        void remover(long chave) {
+            int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+            if (posicao >= 0) {
+                System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+                tamanho--;
+            }
+        }
+    }
+
+    HistoricoPacientes(ConsultaRepository repository, int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade deve ser positiva.");
+        }
+        this.repository = repository;
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Lê até {@code limite} consultas mais antigas que o cursor, da mais recente para a mais antiga.
+     */
+    synchronized PaginaHistorico pagina(int idPaciente, long cursor, int limite) {
+        LinhaTempo linha = abrir(idPaciente);
+        int fim = Arrays.binarySearch(linha.chaves, 0, linha.tamanho, cursor);
+        fim = fim >= 0 ? fim : -fim - 1; // Primeira posição que não é mais antiga que o cursor
+        int inicio = Math.max(0, fim - limite);
+        List<Consulta> consultas = new ArrayList<>(fim - inicio);
+        for (int i = fim - 1; i >= inicio; i--) {
+            Consulta consulta = repository.buscarPorId((int) linha.chaves[i]);
+            if (consulta != null) {
+                consultas.add(consulta);
+            }
+        }
+        return new PaginaHistorico(consultas, inicio > 0 ? linha.chaves[inicio] : PaginaHistorico.FIM);
+    }
+
+    synchronized void adicionar(Consulta consulta) {
+        LinhaTempo linha = linhas.get(consulta.getPaciente().getId());
+        if (linha != null) {
+            linha.adicionar(chave(consulta.getMinuto(), consulta.getId()));
+        }
+    }
+
+    synchronized void mover(Consulta consulta, int minutoAnterior) {
+        LinhaTempo linha = linhas.get(consulta.getPaciente().getId());
+        if (linha != null && minutoAnterior != consulta.getMinuto()) {
+            linha.remover(chave(minutoAnterior, consulta.getId()));
+            linha.adicionar(chave(consulta.getMinuto(), consulta.getId()));
+        }
+    }
+
+    synchronized void remover(Consulta consulta) {
+        LinhaTempo linha = linhas.get(consulta.getPaciente().getId());
+        if (linha != null) {
+            linha.remover(chave(consulta.getMinuto(), consulta.getId()));
+        }
+    }
+
+    /**
+     * Devolve a linha do paciente, montando-a se necessário, e a marca como a mais recente.
+     */
+    private LinhaTempo abrir(int idPaciente) {
+        LinhaTempo linha = linhas.remove(idPaciente);
+        if (linha == null) {
+            linha = new LinhaTempo(repository.chavesPorPaciente(idPaciente));
+            if (linhas.size() >= capacidade) {
+                Iterator<Map.Entry<Integer, LinhaTempo>> maisAntiga = linhas.entrySet().iterator();
+                maisAntiga.next();
+                maisAntiga.remove();
+            }
+        }
+        linhas.put(idPaciente, linha);
+        return linha;
+    }
+
+    private static long chave(int minuto, int id) {
+        return ((long) minuto << 32) | (id & 0xFFFFFFFFL);
+    }
+}
@@ -1,80 +1,155 @@
-package servico;
-
-import entidade.Medico;
-import erro.EntidadeNaoEncontradaException;
-import repositorio.MedicoRepository;
-
-import java.util.List;
-
-/**
- * Serviço responsável pelas operações e regras de negócio relacionadas a médicos.
- * Atua como intermediário entre a camada de apresentação e o repositório.
- */
-public class MedicoService {
-
-    // Injeção de dependência do repositório
-    private MedicoRepository medicoRepository = new MedicoRepository();
-
-    /**
-     * Cadastra um novo médico no sistema.
-     *
-     * @param nome          Nome completo do médico
-     * @param especialidade Área de atuação do médico
-     * @return O médico cadastrado com ID gerado
-     */
-    public Medico cadastrarMedico(String nome, String especialidade) {
-        Medico medico = new Medico(nome, especialidade);
-        medicoRepository.salvar(medico);
-        return medico;
-    }
-
-    /**
-     * Busca um médico pelo seu ID.
-     *
-     * @param id ID do médico a ser localizado
-     * @return O médico encontrado
-     * @throws EntidadeNaoEncontradaException Se o médico não existir
-     */
-    public Medico buscarMedicoPorId(int id) {
-        Medico medico = medicoRepository.buscarPorId(id);
-        if (medico == null) {
-            throw new EntidadeNaoEncontradaException("Médico com ID " + id + " não encontrado.");
-        }
-        return medico;
-    }
-
-    /**
-     * Retorna todos os médicos cadastrados.
-     *
-     * @return Lista contendo todos os médicos
-     */
-    public List<Medico> listarMedicos() {
-        return medicoRepository.listarTodos();
-    }
-
-    /**
-     * Atualiza os dados de um médico existente.
-     *
-     * @param id            ID do médico a ser atualizado
-     * @param nome          Novo nome do médico
-     * @param especialidade Nova especialidade
-     * @throws EntidadeNaoEncontradaException Se o médico não existir
-     */
-    public void atualizarMedico(int id, String nome, String especialidade) {
-        Medico medico = buscarMedicoPorId(id);
-        medico.setNome(nome);
-        medico.setEspecialidade(especialidade);
-        medicoRepository.atualizar(medico);
-    }
-
-    /**
-     * Remove um médico do sistema.
-     *
-     * @param id ID do médico a ser removido
-     * @throws EntidadeNaoEncontradaException Se o médico não existir
-     */
-    public void deletarMedico(int id) {
-        Medico medico = buscarMedicoPorId(id);
-        medicoRepository.deletar(medico);
-    }
+package servico;
+
+import entidade.Medico;
+import erro.EntidadeNaoEncontradaException;
+import evento.BarramentoEventos;
+import evento.EventoAlteracao;
+import evento.TipoAlteracao;
+import repositorio.MedicoRepository;
+
+import java.util.List;
+
+/**
+ * Serviço responsável pelas operações e regras de negócio relacionadas a médicos.
+ * Atua como intermediário entre a camada de apresentação e o repositório.
+ */
+public class MedicoService {
+
+    // Injeção de dependência do repositório
+    private MedicoRepository medicoRepository;
+
+    // Barramento onde são publicadas as alterações de médicos
+    private final BarramentoEventos<EventoAlteracao<Medico>> eventos = new BarramentoEventos<>("eventos-medico");
+
+    /**
+     * Cria o serviço com um repositório próprio, com IDs sequenciais.
+     */
+    public MedicoService() {
+        this(new MedicoRepository());
+    }
+
+    /**
+     * Cria o serviço sobre um repositório informado (ex.: o de uma partição).
+     *
+     * @param medicoRepository Repositório de médicos
+     */
+    public MedicoService(MedicoRepository medicoRepository) {
+        this.medicoRepository = medicoRepository;
+    }
+
+    /**
+     * Cadastra um novo médico no sistema.
+     *
+     * @param nome          Nome completo do médico
+     * @param especialidade Área de atuação do médico
+     * @return O médico cadastrado com ID gerado
+     */
+    public Medico cadastrarMedico(String nome, String especialidade) {
+        Medico medico = new Medico(nome, especialidade);
+        synchronized (medico) {
+            medicoRepository.salvar(medico);
+            publicar(TipoAlteracao.CRIACAO, medico);
+        }
+        return medico;
+    }
+
+    /**
+     * Busca um médico pelo seu ID.
+     *
+     * @param id ID do médico a ser localizado
+     * @return O médico encontrado
+     * @throws EntidadeNaoEncontradaException Se o médico não existir
+     */
+    public Medico buscarMedicoPorId(int id) {
+        Medico medico = medicoRepository.buscarPorId(id);
+        if (medico == null) {
+            throw new EntidadeNaoEncontradaException("Médico com ID " + id + " não encontrado.");
+        }
+        return medico;
+    }
+
+    /**
+     * Busca um médico pelo ID sem alocar nada, nem mesmo em caso de ausência.
+     *
+     * @param id ID do médico a ser localizado
+     * @return O médico encontrado, ou null se não existir
+     */
+    public Medico buscarMedicoOuNulo(int id) {
+        return medicoRepository.buscarPorId(id);
+    }
+
+    /**
+     * Verifica se um médico existe, sem alocar nada.
+     *
+     * @param id ID do médico
+     * @return true se o médico existir
+     */
+    public boolean existeMedico(int id) {
+        return medicoRepository.buscarPorId(id) != null;
+    }
+
+    /**
+     * Retorna todos os médicos cadastrados.
+     *
+     * @return Lista contendo todos os médicos
+     */
+    public List<Medico> listarMedicos() {
+        return medicoRepository.listarTodos();
+    }
+
+    /**
+     * Atualiza os dados de um médico existente.
+     *
+     * @param id            ID do médico a ser atualizado
+     * @param nome          Novo nome do médico
+     * @param especialidade Nova especialidade
+     * @throws EntidadeNaoEncontradaException Se o médico não existir
+     */
+    public void atualizarMedico(int id, String nome, String especialidade) {
+        Medico medico = buscarMedicoPorId(id);
+        // O bloqueio do médico mantém os eventos na ordem das alterações
+        synchronized (medico) {
+            // Uma remoção concorrente (feita sob o mesmo bloqueio) não pode ser desfeita aqui
+            if (medicoRepository.buscarPorId(id) != medico) {
+                throw new EntidadeNaoEncontradaException("Médico com ID " + id + " não encontrado.");
+            }
+            medico.setNome(nome);
+            medico.setEspecialidade(especialidade);
+            medicoRepository.atualizar(medico);
+            publicar(TipoAlteracao.ATUALIZACAO, medico);
+        }
+    }
+
+    /**
+     * Remove um médico do sistema.
+     *
+     * @param id ID do médico a ser removido
+     * @throws EntidadeNaoEncontradaException Se o médico não existir
+     */
+    public void deletarMedico(int id) {
+        Medico medico = buscarMedicoPorId(id);
+        synchronized (medico) {
+            medicoRepository.deletar(medico);
+            publicar(TipoAlteracao.REMOCAO, medico);
+        }
+    }
+
+    /**
+     * Retorna o barramento onde as alterações de médicos são publicadas.
+     *
+     * @return Barramento de eventos de médicos
+     */
+    public BarramentoEventos<EventoAlteracao<Medico>> eventos() {
+        return eventos;
+    }
+
+    /**
+     * Publica uma alteração, evitando criar o evento quando não há assinantes.
+     * Chamado sob o bloqueio do médico; a publicação nunca bloqueia.
+     */
+    private void publicar(TipoAlteracao tipo, Medico medico) {
+        if (eventos.temAssinantes()) {
+            eventos.publicar(new EventoAlteracao<>(tipo, medico.getId(), medico));
+        }
+    }
 }
\ No newline at end of file
@@ -1,79 +1,157 @@
-package servico;
-
-import entidade.Paciente;
-import erro.EntidadeNaoEncontradaException;
-import repositorio.PacienteRepository;
-
-import java.util.List;
-
-/**
- * Serviço responsável pelas operações e regras de negócio relacionadas a pacientes.
- * Coordena o acesso ao repositório de pacientes e aplica validações necessárias.
- */
-public class PacienteService {
-
-    // Repositório injetado para persistência dos dados
-    private final PacienteRepository repository = new PacienteRepository();
-
-    /**
-     * Cadastra um novo paciente no sistema.
-     *
-     * @param nome     Nome completo do paciente
-     * @param telefone Telefone para contato
-     * @return Paciente cadastrado com ID gerado automaticamente
-     */
-    public Paciente cadastrarPaciente(String nome, String telefone) {
-        Paciente p = new Paciente(nome, telefone);
-        return repository.salvar(p);
-    }
-
-    /**
-     * Busca um paciente pelo ID.
-     *
-     * @param id ID do paciente a ser localizado
-     * @return Paciente encontrado
-     * @throws EntidadeNaoEncontradaException Se o paciente não existir
-     */
-    public Paciente buscarPacientePorId(int id) {
-        return repository.buscarPorId(id)
-                .orElseThrow(() -> new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id));
-    }
-
-    /**
-     * Retorna todos os pacientes cadastrados.
-     *
-     * @return Lista contendo todos os pacientes
-     */
-    public List<Paciente> listarPacientes() {
-        return repository.buscarTodos();
-    }
-
-    /**
-     * Atualiza os dados de um paciente existente.
-     *
-     * @param id           ID do paciente a ser atualizado
-     * @param novoNome     Novo nome do paciente
-     * @param novoTelefone Novo telefone do paciente
-     * @return Paciente atualizado
-     * @throws EntidadeNaoEncontradaException Se o paciente não existir
-     */
-    public Paciente atualizarPaciente(int id, String novoNome, String novoTelefone) {
-        Paciente paciente = buscarPacientePorId(id);
-        paciente.setNome(novoNome);
-        paciente.setTelefone(novoTelefone);
-        return repository.salvar(paciente);
-    }
-
-    /**
-     * Remove um paciente do sistema.
-     *
-     * @param id ID do paciente a ser removido
-     * @throws EntidadeNaoEncontradaException Se o paciente não existir
-     */
-    public void deletarPaciente(int id) {
-        if (!repository.buscarPorId(id).isPresent()) {
-            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id);
-        }
-        repository.deletar(id);
-    }
+package servico;
+
+import entidade.Paciente;
+import erro.EntidadeNaoEncontradaException;
+import evento.BarramentoEventos;
+import evento.EventoAlteracao;
+import evento.TipoAlteracao;
+import repositorio.PacienteRepository;
+
+import java.util.List;
+
+/**
+ * Serviço responsável pelas operações e regras de negócio relacionadas a pacientes.
+ * Coordena o acesso ao repositório de pacientes e aplica validações necessárias.
+ */
+public class PacienteService {
+
+    // Repositório injetado para persistência dos dados
+    private final PacienteRepository repository;
+
+    // Barramento onde são publicadas as alterações de pacientes
+    private final BarramentoEventos<EventoAlteracao<Paciente>> eventos = new BarramentoEventos<>("eventos-paciente");
+
+    /**
+     * Cria o serviço com um repositório próprio, com IDs sequenciais.
+     */
+    public PacienteService() {
+        this(new PacienteRepository());
+    }
+
+    /**
+     * Cria o serviço sobre um repositório informado (ex.: o de uma partição).
+     *
+     * @param repository Repositório de pacientes
+     */
+    public PacienteService(PacienteRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Cadastra um novo paciente no sistema.
+     *
+     * @param nome     Nome completo do paciente
+     * @param telefone Telefone para contato
+     * @return Paciente cadastrado com ID gerado automaticamente
+     */
+    public Paciente cadastrarPaciente(String nome, String telefone) {
+        Paciente p = new Paciente(nome, telefone);
+        synchronized (p) {
+            repository.salvar(p);
+            publicar(TipoAlteracao.CRIACAO, p);
+        }
+        return p;
+    }
+
+    /**
+     * Busca um paciente pelo ID.
+     *
+     * @param id ID do paciente a ser localizado
+     * @return Paciente encontrado
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public Paciente buscarPacientePorId(int id) {
+        Paciente paciente = repository.buscarOuNulo(id);
+        if (paciente == null) {
+            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id);
+        }
+        return paciente;
+    }
+
+    /**
+     * Busca um paciente pelo ID sem alocar nada, nem mesmo em caso de ausência.
+     *
+     * @param id ID do paciente a ser localizado
+     * @return Paciente encontrado, ou null se não existir
+     */
+    public Paciente buscarPacienteOuNulo(int id) {
+        return repository.buscarOuNulo(id);
+    }
+
+    /**
+     * Verifica se um paciente existe, sem alocar nada.
+     *
+     * @param id ID do paciente
+     * @return true se o paciente existir
+     */
+    public boolean existePaciente(int id) {
+        return repository.buscarOuNulo(id) != null;
+    }
+
+    /**
+     * Retorna todos os pacientes cadastrados.
+     *
+     * @return Lista contendo todos os pacientes
+     */
+    public List<Paciente> listarPacientes() {
+        return repository.buscarTodos();
+    }
+
+    /**
+     * Atualiza os dados de um paciente existente.
+     *
+     * @param id           ID do paciente a ser atualizado
+     * @param novoNome     Novo nome do paciente
+     * @param novoTelefone Novo telefone do paciente
+     * @return Paciente atualizado
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public Paciente atualizarPaciente(int id, String novoNome, String novoTelefone) {
+        Paciente paciente = buscarPacientePorId(id);
+        // O bloqueio do paciente mantém os eventos na ordem das alterações
+        synchronized (paciente) {
+            // Uma remoção concorrente (feita sob o mesmo bloqueio) não pode ser desfeita aqui
+            if (repository.buscarOuNulo(id) != paciente) {
+                throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id);
+            }
+            paciente.setNome(novoNome);
+            paciente.setTelefone(novoTelefone);
+            repository.atualizar(paciente);
+            publicar(TipoAlteracao.ATUALIZACAO, paciente);
+        }
+        return paciente;
+    }
+
+    /**
+     * Remove um paciente do sistema.
+     *
+     * @param id ID do paciente a ser removido
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public void deletarPaciente(int id) {
+        Paciente paciente = buscarPacientePorId(id);
+        synchronized (paciente) {
+            repository.deletar(id);
+            publicar(TipoAlteracao.REMOCAO, paciente);
+        }
+    }
+
+    /**
+     * Retorna o barramento onde as alterações de pacientes são publicadas.
+     *
+     * @return Barramento de eventos de pacientes
+     */
+    public BarramentoEventos<EventoAlteracao<Paciente>> eventos() {
+        return eventos;
+    }
+
+    /**
+     * Publica uma alteração, evitando criar o evento quando não há assinantes.
+     * Chamado sob o bloqueio do paciente; a publicação nunca bloqueia.
+     */
+    private void publicar(TipoAlteracao tipo, Paciente paciente) {
+        if (eventos.temAssinantes()) {
+            eventos.publicar(new EventoAlteracao<>(tipo, paciente.getId(), paciente));
+        }
+    }
 }
\ No newline at end of file
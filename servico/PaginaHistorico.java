@@ -0,0 +1,63 @@
+package servico;
+
+import entidade.Consulta;
+
+import java.util.List;
+
+/**
+ * Uma página do histórico de um paciente, devolvida por
+ * {@link ConsultaService#historicoPaciente(int, long, int)}.
+ *
+ * As consultas vêm da mais recente para a mais antiga. Para ler a página seguinte, passe
+ * {@link #getProximoCursor()} na próxima chamada; o cursor marca a última consulta devolvida,
+ * então consultas agendadas entre uma página e outra não deslocam as seguintes.
+ */
+public final class PaginaHistorico {
+
+    /**
+     * Cursor da primeira página (a partir da consulta mais recente).
+     */
+    public static final long INICIO = Long.MAX_VALUE;
+
+    /**
+     * Valor de {@link #getProximoCursor()} quando não há mais páginas.
+     */
+    public static final long FIM = Long.MIN_VALUE;
+
+    private final List<Consulta> consultas;
+    private final long proximoCursor;
+
+    PaginaHistorico(List<Consulta> consultas, long proximoCursor) {
+        this.consultas = consultas;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * @return Consultas da página, da mais recente para a mais antiga
+     */
+    public List<Consulta> getConsultas() {
+        return consultas;
+    }
+
+    /**
+     * @return Cursor da página seguinte, ou {@link #FIM} se esta for a última
+     */
+    public long getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * @return true se houver consultas mais antigas que as desta página
+     */
+    public boolean temMais() {
+        return proximoCursor != FIM;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaHistorico{" +
+                "consultas=" + consultas.size() +
+                ", temMais=" + temMais() +
+                '}';
+    }
+}
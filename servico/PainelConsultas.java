@@ -0,0 +1,301 @@
+package servico;
+
+import entidade.Consulta;
+import entidade.Medico;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Contadores materializados para painéis: consultas por status, por médico em cada dia e
+ * por especialidade em cada semana (de segunda a domingo).
+ *
+ * Os contadores são mantidos pelo {@link ConsultaService} a cada agendamento, mudança de
+ * status, reagendamento e remoção, e cada leitura custa uma busca em mapa, independentemente
+ * do número de consultas. Cada contador é um {@link LongAdder}: escritoras em threads
+ * diferentes incrementam células diferentes em vez de disputar o mesmo valor.
+ *
+ * As semanas também são contadas por médico, para que uma troca de especialidade possa
+ * mover as consultas do médico para a nova especialidade: o {@link ConsultaService} chama
+ * {@link #registrarEspecialidade(Medico)} ao receber a atualização do médico, e a partir daí
+ * elas contam na nova. Como o evento é entregue por outra thread, uma leitura logo depois da
+ * troca ainda pode ver as consultas na especialidade anterior.
+ */
+public class PainelConsultas {
+
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+
+    private final LongAdder[] porStatus = new LongAdder[Consulta.Status.values().length];
+
+    // (ID do médico, dia desde a época) empacotados num long -> contador
+    private final ConcurrentHashMap<Long, LongAdder> porMedicoDia = new ConcurrentHashMap<>();
+
+    // Especialidade -> semana desde a época -> contador
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, LongAdder>> porEspecialidadeSemana =
+            new ConcurrentHashMap<>();
+
+    // Semanas de cada médico com consultas contadas, pelo ID do médico
+    private final ConcurrentHashMap<Integer, SemanasMedico> semanasPorMedico = new ConcurrentHashMap<>();
+
+    /**
+     * Consultas de um médico por semana e a especialidade em que elas estão contadas.
+     * As alterações são feitas sob o bloqueio do próprio objeto, para que uma troca de
+     * especialidade mova exatamente o que foi somado.
+     */
+    private static final class SemanasMedico {
+        final Medico medico;
+        final HashMap<Integer, long[]> semanas = new HashMap<>(); // Semana -> {consultas}
+        String especialidade;
+
+        SemanasMedico(Medico medico) {
+            this.medico = medico;
+            this.especialidade = chaveEspecialidade(medico.getEspecialidade());
+        }
+    }
+
+    PainelConsultas() {
+        for (int i = 0; i < porStatus.length; i++) {
+            porStatus[i] = new LongAdder();
+        }
+    }
+
+    // ==================== LEITURAS ====================
+
+    /**
+     * @return Número de consultas cadastradas
+     */
+    public long contarTotal() {
+        long total = 0;
+        for (LongAdder contador : porStatus) {
+            total += contador.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @param status Status procurado
+     * @return Número de consultas com o status
+     */
+    public long contarPorStatus(Consulta.Status status) {
+        return porStatus[status.ordinal()].sum();
+    }
+
+    /**
+     * @param idMedico ID do médico
+     * @param dia      Dia procurado
+     * @return Número de consultas do médico no dia
+     */
+    public long contarPorMedicoNoDia(int idMedico, LocalDate dia) {
+        LongAdder contador = porMedicoDia.get(chaveMedico(idMedico, (int) dia.toEpochDay()));
+        return contador == null ? 0 : contador.sum();
+    }
+
+    /**
+     * @param especialidade Especialidade, como cadastrada no médico
+     * @param dia           Qualquer dia da semana procurada
+     * @return Número de consultas da especialidade na semana (segunda a domingo) que contém o dia
+     */
+    public long contarPorEspecialidadeNaSemana(String especialidade, LocalDate dia) {
+        ConcurrentHashMap<Integer, LongAdder> semanas = porEspecialidadeSemana.get(chaveEspecialidade(especialidade));
+        LongAdder contador = semanas == null ? null : semanas.get(semanaDoDia((int) dia.toEpochDay()));
+        return contador == null ? 0 : contador.sum();
+    }
+
+    // ==================== MANUTENÇÃO (ConsultaService) ====================
+
+    void registrarCriacao(Consulta consulta) {
+        porStatus[consulta.getStatus().ordinal()].increment();
+        somarHorario(consulta, consulta.getMinuto(), 1);
+    }
+
+    void registrarRemocao(Consulta consulta) {
+        porStatus[consulta.getStatus().ordinal()].decrement();
+        somarHorario(consulta, consulta.getMinuto(), -1);
+    }
+
+    void registrarStatus(Consulta.Status anterior, Consulta.Status novo) {
+        if (anterior != novo) {
+            porStatus[anterior.ordinal()].decrement();
+            porStatus[novo.ordinal()].increment();
+        }
+    }
+
+    void registrarHorario(Consulta consulta, int minutoAnterior) {
+        if (minutoAnterior != consulta.getMinuto()) {
+            somarHorario(consulta, minutoAnterior, -1);
+            somarHorario(consulta, consulta.getMinuto(), 1);
+        }
+    }
+
+    /**
+     * Move as consultas já contadas do médico para a sua especialidade atual, se ela mudou.
+     * Custa uma operação por semana em que o médico tem consultas.
+     */
+    void registrarEspecialidade(Medico medico) {
+        SemanasMedico semanasMedico = semanasPorMedico.get(medico.getId());
+        if (semanasMedico != null) {
+            moverEspecialidade(semanasMedico);
+        }
+    }
+
+    /**
+     * Confere a especialidade de todos os médicos contados (após eventos de médicos perdidos).
+     */
+    void registrarEspecialidades() {
+        for (SemanasMedico semanasMedico : semanasPorMedico.values()) {
+            moverEspecialidade(semanasMedico);
+        }
+    }
+
+    /**
+     * Zera os contadores e recalcula tudo a partir das consultas. Alterações feitas durante
+     * o recálculo podem ser contadas duas vezes ou perdidas.
+     */
+    void recalcular(Collection<Consulta> consultas) {
+        for (LongAdder contador : porStatus) {
+            contador.reset();
+        }
+        porMedicoDia.clear();
+        porEspecialidadeSemana.clear();
+        semanasPorMedico.clear();
+        for (Consulta consulta : consultas) {
+            registrarCriacao(consulta);
+        }
+    }
+
+    /**
+     * Compara os contadores com uma contagem completa das consultas. Alterações feitas
+     * durante a verificação aparecem como diferenças.
+     *
+     * @return Uma linha por contador divergente (vazia se tudo confere)
+     */
+    List<String> verificar(Collection<Consulta> consultas) {
+        long[] esperadoStatus = new long[porStatus.length];
+        Map<Long, Long> esperadoMedicoDia = new HashMap<>();
+        Map<String, Long> esperadoEspecialidade = new HashMap<>();
+        for (Consulta consulta : consultas) {
+            esperadoStatus[consulta.getStatus().ordinal()]++;
+            int dia = Math.floorDiv(consulta.getMinuto(), MINUTOS_POR_DIA);
+            esperadoMedicoDia.merge(chaveMedico(consulta.getMedico().getId(), dia), 1L, Long::sum);
+            esperadoEspecialidade.merge(chaveEspecialidade(consulta.getMedico().getEspecialidade())
+                    + '|' + semanaDoDia(dia), 1L, Long::sum);
+        }
+
+        List<String> diferencas = new ArrayList<>();
+        for (Consulta.Status status : Consulta.Status.values()) {
+            comparar(diferencas, "status " + status, esperadoStatus[status.ordinal()],
+                    porStatus[status.ordinal()].sum());
+        }
+
+        Map<Long, Long> atualMedicoDia = new HashMap<>();
+        porMedicoDia.forEach((chave, contador) -> atualMedicoDia.put(chave, contador.sum()));
+        compararMapas(diferencas, esperadoMedicoDia, atualMedicoDia, chave ->
+                "medico " + (int) (chave >>> 32) + " em " + LocalDate.ofEpochDay((int) (long) chave));
+
+        // Especialidade e semana juntas numa chave "especialidade|semana"
+        Map<String, Long> atualEspecialidade = new HashMap<>();
+        porEspecialidadeSemana.forEach((especialidade, semanas) -> semanas.forEach((semana, contador) ->
+                atualEspecialidade.put(especialidade + '|' + semana, contador.sum())));
+        compararMapas(diferencas, esperadoEspecialidade, atualEspecialidade, chave -> {
+            int separador = chave.lastIndexOf('|');
+            int semana = Integer.parseInt(chave.substring(separador + 1));
+            return "especialidade '" + chave.substring(0, separador) + "' na semana de "
+                    + LocalDate.ofEpochDay(semana * 7L - 3);
+        });
+        return diferencas;
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void somarHorario(Consulta consulta, int minuto, int delta) {
+        Medico medico = consulta.getMedico();
+        int dia = Math.floorDiv(minuto, MINUTOS_POR_DIA);
+        contador(porMedicoDia, chaveMedico(medico.getId(), dia)).add(delta);
+
+        int semana = semanaDoDia(dia);
+        SemanasMedico semanasMedico = semanasPorMedico.get(medico.getId());
+        if (semanasMedico == null) {
+            semanasMedico = semanasPorMedico.computeIfAbsent(medico.getId(), id -> new SemanasMedico(medico));
+        }
+        synchronized (semanasMedico) {
+            semanasMedico.semanas.computeIfAbsent(semana, s -> new long[1])[0] += delta;
+            contadorSemana(semanasMedico.especialidade, semana).add(delta);
+        }
+    }
+
+    private void moverEspecialidade(SemanasMedico semanasMedico) {
+        synchronized (semanasMedico) {
+            String atual = chaveEspecialidade(semanasMedico.medico.getEspecialidade());
+            if (atual.equals(semanasMedico.especialidade)) {
+                return;
+            }
+            for (Map.Entry<Integer, long[]> semana : semanasMedico.semanas.entrySet()) {
+                long consultas = semana.getValue()[0];
+                contadorSemana(semanasMedico.especialidade, semana.getKey()).add(-consultas);
+                contadorSemana(atual, semana.getKey()).add(consultas);
+            }
+            semanasMedico.especialidade = atual;
+        }
+    }
+
+    private LongAdder contadorSemana(String especialidade, int semana) {
+        ConcurrentHashMap<Integer, LongAdder> semanas = porEspecialidadeSemana.get(especialidade);
+        if (semanas == null) {
+            semanas = porEspecialidadeSemana.computeIfAbsent(especialidade, e -> new ConcurrentHashMap<>());
+        }
+        return contador(semanas, semana);
+    }
+
+    /**
+     * Busca o contador da chave, criando-o só na primeira vez (o get evita o bloqueio do compute).
+     */
+    private static <K> LongAdder contador(ConcurrentHashMap<K, LongAdder> mapa, K chave) {
+        LongAdder contador = mapa.get(chave);
+        return contador != null ? contador : mapa.computeIfAbsent(chave, k -> new LongAdder());
+    }
+
+    /**
+     * ID do médico nos 32 bits altos e o dia nos 32 bits baixos.
+     */
+    private static long chaveMedico(int idMedico, int dia) {
+        return ((long) idMedico << 32) | (dia & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Semanas contadas a partir da segunda-feira 1970-01-05 (1970-01-01 foi uma quinta-feira).
+     */
+    private static int semanaDoDia(int dia) {
+        return Math.floorDiv(dia + 3, 7);
+    }
+
+    private static String chaveEspecialidade(String especialidade) {
+        return especialidade == null ? "" : especialidade;
+    }
+
+    private static void comparar(List<String> diferencas, String descricao, long esperado, long atual) {
+        if (esperado != atual) {
+            diferencas.add(descricao + ": esperado " + esperado + ", contador " + atual);
+        }
+    }
+
+    private static <K> void compararMapas(List<String> diferencas, Map<K, Long> esperado, Map<K, Long> atual,
+                                          Function<K, String> descrever) {
+        for (Map.Entry<K, Long> entrada : esperado.entrySet()) {
+            comparar(diferencas, descrever.apply(entrada.getKey()), entrada.getValue(),
+                    atual.getOrDefault(entrada.getKey(), 0L));
+        }
+        for (Map.Entry<K, Long> entrada : atual.entrySet()) {
+            // Contadores zerados de chaves sem consultas são esperados (ex.: após remoções)
+            if (!esperado.containsKey(entrada.getKey()) && entrada.getValue() != 0) {
+                comparar(diferencas, descrever.apply(entrada.getKey()), 0, entrada.getValue());
+            }
+        }
+    }
+}
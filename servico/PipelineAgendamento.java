@@ -0,0 +1,196 @@
+package servico;
+
+import entidade.Consulta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pipeline de agendamento assíncrono usado por {@link ConsultaService}.
+ *
+ * Os pedidos entram numa fila de capacidade fixa e são consumidos por uma única
+ * thread escritora, que os agrupa em lotes: cada lote é validado e gravado no
+ * repositório com uma só operação. Quando a fila enche, quem submete fica bloqueado
+ * até a escritora liberar espaço, evitando o crescimento ilimitado da memória.
+ *
+ * Todo pedido aceito tem o seu future concluído: com a consulta gravada, com o erro da
+ * validação daquele pedido ou, se chegar depois do encerramento, com
+ * {@link IllegalStateException}.
+ */
+class PipelineAgendamento {
+
+    // Valores padrão usados pelo ConsultaService
+    static final int CAPACIDADE_PADRAO = 1024;
+    static final int TAMANHO_LOTE_PADRAO = 64;
+
+    /**
+     * Pedido de agendamento aguardando processamento.
+     */
+    private static final class Pedido {
+        final int idPaciente;
+        final int idMedico;
+        final LocalDateTime dataHora;
+        final CompletableFuture<Consulta> resultado = new CompletableFuture<>();
+
+        Pedido(int idPaciente, int idMedico, LocalDateTime dataHora) {
+            this.idPaciente = idPaciente;
+            this.idMedico = idMedico;
+            this.dataHora = dataHora;
+        }
+    }
+
+    // Marcador colocado na fila para sinalizar o encerramento da escritora
+    private static final Pedido FIM = new Pedido(0, 0, null);
+
+    private final ConsultaService consultaService;
+    private final BlockingQueue<Pedido> fila;
+    private final int tamanhoLote;
+    private final Thread escritora;
+    private volatile boolean encerrado;
+
+    /**
+     * Cria o pipeline e inicia a thread escritora.
+     *
+     * @param consultaService Serviço que valida e persiste as consultas
+     * @param capacidade      Número máximo de pedidos aguardando na fila
+     * @param tamanhoLote     Número máximo de pedidos gravados por lote
+     */
+    PipelineAgendamento(ConsultaService consultaService, int capacidade, int tamanhoLote) {
+        if (capacidade <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Capacidade e tamanho do lote devem ser positivos.");
+        }
+        this.consultaService = consultaService;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.escritora = new Thread(this::executar, "pipeline-agendamento");
+        this.escritora.setDaemon(true);
+        this.escritora.start();
+    }
+
+    /**
+     * Submete um pedido de agendamento, bloqueando enquanto a fila estiver cheia.
+     *
+     * @return Future concluído quando o lote do pedido for gravado
+     */
+    CompletableFuture<Consulta> submeter(int idPaciente, int idMedico, LocalDateTime dataHora) {
+        Pedido pedido = new Pedido(idPaciente, idMedico, dataHora);
+        if (encerrado) {
+            recusar(pedido);
+            return pedido.resultado;
+        }
+        try {
+            fila.put(pedido); // Contrapressão: espera por espaço na fila
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pedido.resultado.completeExceptionally(e);
+            return pedido.resultado;
+        }
+        // Se o encerramento começou durante o put, o pedido pode ter ficado atrás do marcador
+        // depois que a escritora e o encerrar() já esvaziaram a fila. Quem conseguir retirá-lo
+        // da fila o recusa; se outro já o retirou, a escritora ou o encerrar() o concluem.
+        if (encerrado && fila.remove(pedido)) {
+            recusar(pedido);
+        }
+        return pedido.resultado;
+    }
+
+    /**
+     * Encerra a escritora depois de processar os pedidos já aceitos.
+     */
+    void encerrar() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        try {
+            fila.put(FIM);
+            escritora.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Pedidos que chegaram depois do marcador não serão mais processados
+        List<Pedido> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        for (Pedido pedido : restantes) {
+            recusar(pedido);
+        }
+    }
+
+    private static void recusar(Pedido pedido) {
+        pedido.resultado.completeExceptionally(new IllegalStateException("Pipeline de agendamento encerrado."));
+    }
+
+    /**
+     * Laço da thread escritora: espera o primeiro pedido e junta ao lote os que já estiverem na fila.
+     */
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        boolean fim = false;
+        while (!fim) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            fila.drainTo(lote, tamanhoLote - 1);
+
+            // Tudo o que vier depois do marcador já saiu da fila: é recusado aqui mesmo
+            int posicaoFim = lote.indexOf(FIM);
+            if (posicaoFim >= 0) {
+                List<Pedido> depoisDoFim = lote.subList(posicaoFim, lote.size());
+                for (Pedido pedido : depoisDoFim) {
+                    if (pedido != FIM) {
+                        recusar(pedido);
+                    }
+                }
+                depoisDoFim.clear();
+                fim = true;
+            }
+            try {
+                processarLote(lote);
+            } catch (RuntimeException e) {
+                // Nunca deixa a escritora morrer com futures pendentes
+                for (Pedido pedido : lote) {
+                    pedido.resultado.completeExceptionally(e);
+                }
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Valida os pedidos do lote, grava as consultas válidas de uma só vez e conclui os futures.
+     */
+    private void processarLote(List<Pedido> lote) {
+        List<Consulta> consultas = new ArrayList<>(lote.size());
+        List<Pedido> aceitos = new ArrayList<>(lote.size());
+        for (Pedido pedido : lote) {
+            try {
+                consultas.add(consultaService.criarConsulta(pedido.idPaciente, pedido.idMedico, pedido.dataHora));
+                aceitos.add(pedido);
+            } catch (RuntimeException e) {
+                // Entidade ausente, data/hora inválida ou fora do intervalo: só este pedido falha
+                pedido.resultado.completeExceptionally(e);
+            }
+        }
+
+        try {
+            consultaService.salvarLote(consultas);
+        } catch (RuntimeException e) {
+            for (Pedido pedido : aceitos) {
+                pedido.resultado.completeExceptionally(e);
+            }
+            return;
+        }
+
+        // Só conclui os futures depois que o lote inteiro foi gravado
+        for (int i = 0; i < aceitos.size(); i++) {
+            aceitos.get(i).resultado.complete(consultas.get(i));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package servico;
+
+import entidade.Consulta;
+import entidade.Medico;
+import entidade.Paciente;
+import erro.EntidadeNaoEncontradaException;
+import pesquisa.PesquisaConsultas;
+import repositorio.ConsultaRepository;
+import repositorio.GeradorIds;
+import repositorio.MedicoRepository;
+import repositorio.PacienteRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento particionado por clínica para redes com várias unidades.
+ *
+ * Cada clínica é uma partição independente, com seus próprios repositórios e
+ * serviços (e, portanto, seus próprios bloqueios). Os IDs são gerados localmente
+ * em cada partição e carregam o número da clínica nos bits baixos, de modo que
+ * qualquer busca por ID é encaminhada diretamente para a partição certa.
+ *
+ * Consultas a uma única clínica vão para uma só partição; listagens da rede inteira
+ * são distribuídas entre as partições em paralelo e os resultados são reunidos.
+ * Históricos e pesquisas são encaminhados pela clínica do ID do paciente, médico ou
+ * consulta; pesquisas sem nenhum desses IDs (por período, status...) não atravessam
+ * clínicas e devem ser feitas no serviço de uma clínica ({@link #consultas(int)}).
+ */
+public class RedeClinicas {
+
+    /**
+     * Serviços de uma clínica (partição).
+     */
+    private static final class Unidade {
+        final PacienteService pacienteService;
+        final MedicoService medicoService;
+        final ConsultaService consultaService;
+
+        Unidade(int clinica) {
+            this.pacienteService = new PacienteService(new PacienteRepository(GeradorIds.particionado(clinica)));
+            this.medicoService = new MedicoService(new MedicoRepository(GeradorIds.particionado(clinica)));
+            this.consultaService = new ConsultaService(pacienteService, medicoService,
+                    new ConsultaRepository(GeradorIds.particionado(clinica)));
+        }
+    }
+
+    private final Unidade[] unidades;
+
+    /**
+     * Cria a rede com as clínicas numeradas de 0 a {@code numeroClinicas - 1}.
+     *
+     * @param numeroClinicas Número de clínicas (no máximo {@link GeradorIds#MAX_PARTICOES})
+     */
+    public RedeClinicas(int numeroClinicas) {
+        if (numeroClinicas <= 0 || numeroClinicas > GeradorIds.MAX_PARTICOES) {
+            throw new IllegalArgumentException("Número de clínicas deve estar entre 1 e " + GeradorIds.MAX_PARTICOES);
+        }
+        this.unidades = new Unidade[numeroClinicas];
+        for (int i = 0; i < numeroClinicas; i++) {
+            unidades[i] = new Unidade(i);
+        }
+    }
+
+    /**
+     * @return Número de clínicas da rede
+     */
+    public int getNumeroClinicas() {
+        return unidades.length;
+    }
+
+    /**
+     * Retorna a clínica de um ID de paciente, médico ou consulta.
+     *
+     * @param id ID gerado pela rede
+     * @return Número da clínica
+     */
+    public static int clinicaDoId(int id) {
+        return GeradorIds.particaoDoId(id);
+    }
+
+    // ==================== ACESSO A UMA CLÍNICA ====================
+
+    /**
+     * @return Serviço de pacientes da clínica
+     * @throws EntidadeNaoEncontradaException Se a clínica não existir
+     */
+    public PacienteService pacientes(int clinica) {
+        return unidade(clinica).pacienteService;
+    }
+
+    /**
+     * @return Serviço de médicos da clínica
+     * @throws EntidadeNaoEncontradaException Se a clínica não existir
+     */
+    public MedicoService medicos(int clinica) {
+        return unidade(clinica).medicoService;
+    }
+
+    /**
+     * @return Serviço de consultas da clínica
+     * @throws EntidadeNaoEncontradaException Se a clínica não existir
+     */
+    public ConsultaService consultas(int clinica) {
+        return unidade(clinica).consultaService;
+    }
+
+    // ==================== ROTEAMENTO POR ID ====================
+
+    /**
+     * Busca um paciente em qualquer clínica, pela partição codificada no ID.
+     *
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     */
+    public Paciente buscarPacientePorId(int id) {
+        Unidade unidade = unidadeDoId(id);
+        if (unidade == null) {
+            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + id);
+        }
+        return unidade.pacienteService.buscarPacientePorId(id);
+    }
+
+    /**
+     * Busca um médico em qualquer clínica, pela partição codificada no ID.
+     *
+     * @throws EntidadeNaoEncontradaException Se o médico não existir
+     */
+    public Medico buscarMedicoPorId(int id) {
+        Unidade unidade = unidadeDoId(id);
+        if (unidade == null) {
+            throw new EntidadeNaoEncontradaException("Médico com ID " + id + " não encontrado.");
+        }
+        return unidade.medicoService.buscarMedicoPorId(id);
+    }
+
+    /**
+     * Busca uma consulta em qualquer clínica, pela partição codificada no ID.
+     *
+     * @throws EntidadeNaoEncontradaException Se a consulta não existir
+     */
+    public Consulta buscarConsultaPorId(int id) {
+        Unidade unidade = unidadeDoId(id);
+        if (unidade == null) {
+            throw new EntidadeNaoEncontradaException("Consulta com ID " + id + " não encontrada.");
+        }
+        return unidade.consultaService.buscarConsultaPorId(id);
+    }
+
+    /**
+     * Agenda uma consulta na clínica do médico. Paciente e médico devem ser da mesma clínica.
+     *
+     * @throws EntidadeNaoEncontradaException Se paciente ou médico não existirem
+     * @throws IllegalArgumentException       Se paciente e médico forem de clínicas diferentes
+     */
+    public Consulta agendarConsulta(int idPaciente, int idMedico, LocalDateTime dataHora) {
+        Unidade unidade = unidadeDoId(idMedico);
+        if (unidade == null) {
+            throw new EntidadeNaoEncontradaException("Médico com ID " + idMedico + " não encontrado.");
+        }
+        if (clinicaDoId(idPaciente) != clinicaDoId(idMedico)) {
+            throw new IllegalArgumentException("Paciente e médico pertencem a clínicas diferentes.");
+        }
+        return unidade.consultaService.agendarConsulta(idPaciente, idMedico, dataHora);
+    }
+
+    /**
+     * Retorna a primeira página do histórico do paciente, na clínica do paciente.
+     *
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     * @see ConsultaService#historicoPaciente(int, int)
+     */
+    public PaginaHistorico historicoPaciente(int idPaciente, int limite) {
+        return historicoPaciente(idPaciente, PaginaHistorico.INICIO, limite);
+    }
+
+    /**
+     * Retorna uma página do histórico do paciente, na clínica do paciente.
+     *
+     * @throws EntidadeNaoEncontradaException Se o paciente não existir
+     * @see ConsultaService#historicoPaciente(int, long, int)
+     */
+    public PaginaHistorico historicoPaciente(int idPaciente, long cursor, int limite) {
+        Unidade unidade = unidadeDoId(idPaciente);
+        if (unidade == null) {
+            throw new EntidadeNaoEncontradaException("Paciente não encontrado com ID: " + idPaciente);
+        }
+        return unidade.consultaService.historicoPaciente(idPaciente, cursor, limite);
+    }
+
+    /**
+     * Pesquisa consultas na clínica do ID a que a pesquisa está restrita (consulta, médico ou
+     * paciente). Como todos os IDs de uma consulta são da mesma clínica, as outras clínicas não
+     * têm resultados.
+     *
+     * @param pesquisa Critérios da pesquisa, com {@code comId}, {@code doMedico} ou {@code doPaciente}
+     * @return Consultas encontradas, em ordem de data/hora (vazio se o ID não pertencer à rede)
+     * @throws IllegalArgumentException Se a pesquisa não estiver restrita a nenhum desses IDs
+     */
+    public Stream<Consulta> pesquisar(PesquisaConsultas pesquisa) {
+        int id = pesquisa.getIdRestricao();
+        if (id == 0) {
+            throw new IllegalArgumentException("A pesquisa na rede precisa de um ID de consulta, médico "
+                    + "ou paciente; pesquise no serviço de cada clínica.");
+        }
+        Unidade unidade = unidadeDoId(id);
+        return unidade == null ? Stream.empty() : unidade.consultaService.pesquisar(pesquisa);
+    }
+
+    // ==================== LISTAGENS DA REDE ====================
+
+    /**
+     * @return Pacientes de todas as clínicas, na ordem das clínicas
+     */
+    public List<Paciente> listarPacientes() {
+        return dispersar(u -> u.pacienteService.listarPacientes());
+    }
+
+    /**
+     * @return Médicos de todas as clínicas, na ordem das clínicas
+     */
+    public List<Medico> listarMedicos() {
+        return dispersar(u -> u.medicoService.listarMedicos());
+    }
+
+    /**
+     * @return Consultas de todas as clínicas, na ordem das clínicas
+     */
+    public List<Consulta> listarConsultas() {
+        return dispersar(u -> u.consultaService.listarConsultas());
+    }
+
+    /**
+     * Executa a leitura em todas as partições em paralelo e reúne os resultados.
+     */
+    private <T> List<T> dispersar(Function<Unidade, List<T>> leitura) {
+        return Arrays.stream(unidades)
+                .parallel()
+                .map(leitura)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private Unidade unidade(int clinica) {
+        if (clinica < 0 || clinica >= unidades.length) {
+            throw new EntidadeNaoEncontradaException("Clínica com ID " + clinica + " não encontrada.");
+        }
+        return unidades[clinica];
+    }
+
+    /**
+     * @return Partição codificada no ID, ou null se o ID não puder pertencer à rede
+     */
+    private Unidade unidadeDoId(int id) {
+        int clinica = clinicaDoId(id);
+        if (id <= 0 || clinica >= unidades.length) {
+            return null;
+        }
+        return unidades[clinica];
+    }
+}
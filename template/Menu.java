@@ -6,15 +6,23 @@ import erro.EntidadeNaoEncontradaException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.BiConsumer;
 
 /**
  * Classe responsável pela interface de usuário do sistema médico.
  * Oferece um menu interativo para gestão de pacientes, médicos e consultas.
  */
 public class Menu {
+    // Número de linhas por página nas listagens
+    private static final int TAMANHO_PAGINA = 20;
+
     final Scanner sc = new Scanner(System.in);
 
+    // Saída em lotes: o texto só aparece ao descarregar (antes de cada leitura do usuário)
+    private final SaidaConsole saida = SaidaConsole.padrao();
+
     private PacienteService pacienteService;
     private MedicoService medicoService;
     private ConsultaService consultaService;
@@ -39,190 +47,247 @@ public class Menu {
         int opcao;
         do {
             // Menu de opções
-            System.out.println("\n========= MENU =========");
-            System.out.println("1  Cadastrar Paciente");
-            System.out.println("2  Cadastrar Médico");
-            System.out.println("3  Agendar Consulta");
-            System.out.println("4  Atualizar Status da Consulta");
-            System.out.println("5  Listar Pacientes");
-            System.out.println("6  Listar Médicos");
-            System.out.println("7  Listar Consultas");
-            System.out.println("8  Deletar Paciente");
-            System.out.println("9  Deletar Médico");
-            System.out.println("10 Deletar Consulta");
-            System.out.println("11 Atualizar Médico");
-            System.out.println("12 Atualizar Paciente");
-            System.out.println("0  Sair");
+            saida.println("\n========= MENU =========");
+            saida.println("1  Cadastrar Paciente");
+            saida.println("2  Cadastrar Médico");
+            saida.println("3  Agendar Consulta");
+            saida.println("4  Atualizar Status da Consulta");
+            saida.println("5  Listar Pacientes");
+            saida.println("6  Listar Médicos");
+            saida.println("7  Listar Consultas");
+            saida.println("8  Deletar Paciente");
+            saida.println("9  Deletar Médico");
+            saida.println("10 Deletar Consulta");
+            saida.println("11 Atualizar Médico");
+            saida.println("12 Atualizar Paciente");
+            saida.println("0  Sair");
 
             // Leitura da opção do usuário
-            opcao = lerInteiro(sc, "Escolha uma opção: ");
+            opcao = lerInteiro("Escolha uma opção: ");
 
             // Execução da operação escolhida
             switch (opcao) {
                 case 1:
                     // Cadastrar paciente
-                    System.out.print("Nome do paciente: ");
-                    String nomePaciente = sc.nextLine();
-                    System.out.print("Telefone do paciente: ");
-                    String telefone = sc.nextLine();
+                    String nomePaciente = lerLinha("Nome do paciente: ");
+                    String telefone = lerLinha("Telefone do paciente: ");
                     Paciente paciente = pacienteService.cadastrarPaciente(nomePaciente, telefone);
-                    System.out.println("Paciente cadastrado: " + paciente);
+                    saida.println("Paciente cadastrado: " + paciente);
                     break;
 
                 case 2:
                     // Cadastrar médico
-                    System.out.print("Nome do médico: ");
-                    String nomeMedico = sc.nextLine();
-                    System.out.print("Especialidade: ");
-                    String especialidade = sc.nextLine();
+                    String nomeMedico = lerLinha("Nome do médico: ");
+                    String especialidade = lerLinha("Especialidade: ");
                     Medico medico = medicoService.cadastrarMedico(nomeMedico, especialidade);
-                    System.out.println("Médico cadastrado: " + medico);
+                    saida.println("Médico cadastrado: " + medico);
                     break;
 
                 case 3:
                     // Agendar consulta
-                    int idPaciente = lerInteiro(sc, "ID do paciente: ");
-                    int idMedico = lerInteiro(sc, "ID do médico: ");
-                    System.out.print("Data e hora (yyyy-MM-dd HH:mm): ");
-                    String dataHoraStr = sc.nextLine();
+                    int idPaciente = lerInteiro("ID do paciente: ");
+                    int idMedico = lerInteiro("ID do médico: ");
+                    String dataHoraStr = lerLinha("Data e hora (yyyy-MM-dd HH:mm): ");
                     try {
                         LocalDateTime dataHora = LocalDateTime.parse(dataHoraStr, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
                         Consulta consulta = consultaService.agendarConsulta(idPaciente, idMedico, dataHora);
-                        System.out.println("Consulta agendada: " + consulta);
+                        saida.println("Consulta agendada: " + consulta);
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     } catch (Exception e) {
-                        System.out.println("Data e hora inválida. Formato correto: yyyy-MM-dd HH:mm");
+                        saida.println("Data e hora inválida. Formato correto: yyyy-MM-dd HH:mm");
                     }
                     break;
 
                 case 4:
                     // Atualizar status da consulta
-                    int idConsulta = lerInteiro(sc, "ID da consulta: ");
-                    System.out.println("Status (1- AGENDADA, 2- REALIZADA, 3- CANCELADA): ");
-                    int opcaoStatus = lerInteiro(sc, "Escolha o status: ");
+                    int idConsulta = lerInteiro("ID da consulta: ");
+                    saida.println("Status (1- AGENDADA, 2- REALIZADA, 3- CANCELADA, 4- NAO_COMPARECEU): ");
+                    int opcaoStatus = lerInteiro("Escolha o status: ");
                     try {
                         Consulta.Status status = switch (opcaoStatus) {
                             case 1 -> Consulta.Status.AGENDADA;
                             case 2 -> Consulta.Status.REALIZADA;
                             case 3 -> Consulta.Status.CANCELADA;
+                            case 4 -> Consulta.Status.NAO_COMPARECEU;
                             default -> throw new IllegalArgumentException("Status inválido.");
                         };
                         consultaService.atualizarStatusConsulta(idConsulta, status);
-                        System.out.println("Status atualizado.");
+                        saida.println("Status atualizado.");
                     } catch (EntidadeNaoEncontradaException | IllegalArgumentException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 5:
                     // Listar pacientes
-                    System.out.println("\n--- Pacientes ---");
-                    if (pacienteService.listarPacientes().isEmpty()) {
-                        System.out.println("Nenhum paciente cadastrado.");
-                    } else {
-                        pacienteService.listarPacientes().forEach(System.out::println);
-                    }
+                    listarPaginado("\n--- Pacientes ---", pacienteService.listarPacientes(),
+                            Paciente::anexarEm, "Nenhum paciente cadastrado.");
                     break;
 
                 case 6:
                     // Listar médicos
-                    System.out.println("\n--- Médicos ---");
-                    if (medicoService.listarMedicos().isEmpty()) {
-                        System.out.println("Nenhum médico cadastrado.");
-                    } else {
-                        medicoService.listarMedicos().forEach(System.out::println);
-                    }
+                    listarPaginado("\n--- Médicos ---", medicoService.listarMedicos(),
+                            Medico::anexarEm, "Nenhum médico cadastrado.");
                     break;
 
                 case 7:
                     // Listar consultas
-                    System.out.println("\n--- Consultas ---");
-                    if (consultaService.listarConsultas().isEmpty()) {
-                        System.out.println("Nenhuma consulta cadastrada.");
-                    } else {
-                        consultaService.listarConsultas().forEach(System.out::println);
-                    }
+                    listarPaginado("\n--- Consultas ---", consultaService.listarConsultas(),
+                            Consulta::anexarEm, "Nenhuma consulta cadastrada.");
                     break;
 
                 case 8:
                     // Deletar paciente
-                    int idPacienteDeletar = lerInteiro(sc, "ID do paciente a deletar: ");
+                    int idPacienteDeletar = lerInteiro("ID do paciente a deletar: ");
                     try {
                         pacienteService.deletarPaciente(idPacienteDeletar);
-                        System.out.println("Paciente deletado.");
+                        saida.println("Paciente deletado.");
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 9:
                     // Deletar médico
-                    int idMedicoDeletar = lerInteiro(sc, "ID do médico a deletar: ");
+                    int idMedicoDeletar = lerInteiro("ID do médico a deletar: ");
                     try {
                         medicoService.deletarMedico(idMedicoDeletar);
-                        System.out.println("Médico deletado.");
+                        saida.println("Médico deletado.");
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 10:
                     // Deletar consulta
-                    int idConsultaDeletar = lerInteiro(sc, "ID da consulta a deletar: ");
+                    int idConsultaDeletar = lerInteiro("ID da consulta a deletar: ");
                     try {
                         consultaService.deletarConsulta(idConsultaDeletar);
-                        System.out.println("Consulta deletada.");
+                        saida.println("Consulta deletada.");
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 11:
                     // Atualizar médico
-                    int idMedicoAtualizar = lerInteiro(sc, "ID do médico a atualizar: ");
-                    System.out.print("Novo nome do médico: ");
-                    String novoNome = sc.nextLine();
-                    System.out.print("Nova especialidade: ");
-                    String novaEspecialidade = sc.nextLine();
+                    int idMedicoAtualizar = lerInteiro("ID do médico a atualizar: ");
+                    String novoNome = lerLinha("Novo nome do médico: ");
+                    String novaEspecialidade = lerLinha("Nova especialidade: ");
                     try {
                         medicoService.atualizarMedico(idMedicoAtualizar, novoNome, novaEspecialidade);
-                        System.out.println("Médico atualizado.");
+                        saida.println("Médico atualizado.");
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 12:
                     // Atualizar paciente
-                    int idPacienteAtualizar = lerInteiro(sc, "ID do paciente a atualizar: ");
-                    System.out.print("Novo nome do paciente: ");
-                    String novoNomePaciente = sc.nextLine();
-                    System.out.print("Novo telefone do paciente: ");
-                    String novoTelefone = sc.nextLine();
+                    int idPacienteAtualizar = lerInteiro("ID do paciente a atualizar: ");
+                    String novoNomePaciente = lerLinha("Novo nome do paciente: ");
+                    String novoTelefone = lerLinha("Novo telefone do paciente: ");
                     try {
                         pacienteService.atualizarPaciente(idPacienteAtualizar, novoNomePaciente, novoTelefone);
-                        System.out.println("Paciente atualizado.");
+                        saida.println("Paciente atualizado.");
                     } catch (EntidadeNaoEncontradaException e) {
-                        System.out.println("Erro: " + e.getMessage());
+                        saida.println("Erro: " + e.getMessage());
                     }
                     break;
 
                 case 0:
                     // Encerrar o programa
-                    System.out.println("Saindo do sistema...");
+                    saida.println("Saindo do sistema...");
                     break;
 
                 default:
-                    System.out.println("Opção inválida.");
+                    saida.println("Opção inválida.");
                     break;
             }
 
         } while (opcao != 0);
 
+        saida.descarregar();
         sc.close();
     }
 
+    /**
+     * Exibe uma lista em páginas de {@link #TAMANHO_PAGINA} linhas, permitindo navegar
+     * para a próxima página ou para a anterior.
+     *
+     * @param titulo    Título da listagem
+     * @param itens     Itens a exibir
+     * @param formatar  Escreve um item no buffer da saída (sem quebra de linha)
+     * @param vazio     Mensagem exibida quando não há itens
+     */
+    private <T> void listarPaginado(String titulo, List<T> itens, BiConsumer<T, StringBuilder> formatar, String vazio) {
+        saida.println(titulo);
+        if (itens.isEmpty()) {
+            saida.println(vazio);
+            return;
+        }
+        int paginas = (itens.size() + TAMANHO_PAGINA - 1) / TAMANHO_PAGINA;
+        int pagina = 0;
+        boolean exibirPagina = true;
+        while (true) {
+            if (exibirPagina) {
+                int inicio = pagina * TAMANHO_PAGINA;
+                int fim = Math.min(inicio + TAMANHO_PAGINA, itens.size());
+                for (int i = inicio; i < fim; i++) {
+                    formatar.accept(itens.get(i), saida.buffer());
+                    saida.println();
+                }
+            }
+            if (paginas == 1) {
+                return;
+            }
+            String escolha = lerLinha("Página " + (pagina + 1) + "/" + paginas +
+                    " (" + itens.size() + " itens) - [p] próxima, [a] anterior, [Enter] voltar: ").trim();
+            if (escolha.equalsIgnoreCase("p")) {
+                exibirPagina = pagina < paginas - 1;
+                if (exibirPagina) {
+                    pagina++;
+                } else {
+                    saida.println("Esta é a última página.");
+                }
+            } else if (escolha.equalsIgnoreCase("a")) {
+                exibirPagina = pagina > 0;
+                if (exibirPagina) {
+                    pagina--;
+                } else {
+                    saida.println("Esta é a primeira página.");
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Exibe a mensagem e lê uma linha digitada pelo usuário.
+     * A saída pendente é descarregada antes, para que a mensagem apareça.
+     *
+     * @param mensagem Mensagem exibida para o usuário.
+     * @return Linha digitada.
+     */
+    private String lerLinha(String mensagem) {
+        saida.print(mensagem);
+        saida.descarregar();
+        return sc.nextLine();
+    }
+
+    /**
+     * Lê um valor inteiro, descarregando antes a saída pendente.
+     *
+     * @param mensagem Mensagem exibida para o usuário.
+     * @return Um número inteiro válido.
+     */
+    private int lerInteiro(String mensagem) {
+        saida.descarregar();
+        return lerInteiro(sc, mensagem);
+    }
+
     /**
      * Método auxiliar para ler valores inteiros de forma segura.
      *
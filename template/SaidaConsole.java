@@ -0,0 +1,156 @@
+package template;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Saída de texto em lotes para o console.
+ *
+ * O texto é montado num {@link StringBuilder} reutilizado, codificado num {@link ByteBuffer}
+ * direto e escrito no canal em blocos grandes, em vez de uma escrita (com bloqueio e flush)
+ * por linha como no {@code System.out.println}. Nada aparece no console até o buffer encher
+ * ou até {@link #descarregar()} ser chamado, o que deve ser feito antes de ler a entrada do usuário.
+ *
+ * Assim como o {@code PrintStream}, erros de escrita não são lançados: a saída apenas deixa
+ * de ser escrita e {@link #houveErro()} passa a retornar true. A classe não é thread-safe.
+ */
+public class SaidaConsole {
+
+    // Tamanho do buffer de bytes (cada escrita no canal leva até esse tanto)
+    private static final int CAPACIDADE_BYTES = 64 * 1024;
+
+    // Quantidade de caracteres acumulados a partir da qual o texto é codificado
+    private static final int LIMITE_TEXTO = 16 * 1024;
+
+    private final WritableByteChannel canal;
+    private final CharsetEncoder codificador;
+    private final StringBuilder texto = new StringBuilder(LIMITE_TEXTO + 1024);
+    private final char[] caracteres = new char[LIMITE_TEXTO];
+    private final CharBuffer entrada = CharBuffer.wrap(caracteres);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(CAPACIDADE_BYTES);
+    private boolean erro;
+
+    /**
+     * @param canal   Canal de destino
+     * @param charset Codificação do texto
+     */
+    public SaidaConsole(WritableByteChannel canal, Charset charset) {
+        this.canal = canal;
+        this.codificador = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Cria a saída sobre a saída padrão do processo, com a mesma codificação do {@code System.out}.
+     *
+     * @return Saída para o console
+     */
+    public static SaidaConsole padrao() {
+        String nome = System.getProperty("sun.stdout.encoding");
+        Charset charset = nome != null && Charset.isSupported(nome) ? Charset.forName(nome) : Charset.defaultCharset();
+        return new SaidaConsole(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), charset);
+    }
+
+    /**
+     * Buffer onde a linha atual pode ser montada diretamente (por exemplo, com {@code anexarEm}).
+     * A linha deve ser terminada com {@link #println()}.
+     *
+     * @return Buffer de texto pendente
+     */
+    public StringBuilder buffer() {
+        return texto;
+    }
+
+    /**
+     * Acrescenta o texto, sem quebra de linha.
+     */
+    public SaidaConsole print(CharSequence s) {
+        texto.append(s);
+        verificarLimite();
+        return this;
+    }
+
+    /**
+     * Acrescenta o texto seguido de uma quebra de linha.
+     */
+    public SaidaConsole println(CharSequence s) {
+        texto.append(s);
+        return println();
+    }
+
+    /**
+     * Termina a linha atual.
+     */
+    public SaidaConsole println() {
+        texto.append('\n');
+        verificarLimite();
+        return this;
+    }
+
+    /**
+     * Escreve no console todo o texto pendente.
+     */
+    public void descarregar() {
+        codificarTexto();
+        escreverBytes();
+    }
+
+    /**
+     * @return true se alguma escrita no canal falhou
+     */
+    public boolean houveErro() {
+        return erro;
+    }
+
+    private void verificarLimite() {
+        if (texto.length() >= LIMITE_TEXTO) {
+            codificarTexto();
+        }
+    }
+
+    /**
+     * Codifica o texto pendente no buffer de bytes, escrevendo no canal sempre que ele enche.
+     */
+    private void codificarTexto() {
+        int posicao = 0;
+        int total = texto.length();
+        while (posicao < total) {
+            // "entrada" pode conter um caractere que sobrou da rodada anterior (metade de um par substituto)
+            int n = Math.min(total - posicao, entrada.remaining());
+            texto.getChars(posicao, posicao + n, caracteres, entrada.position());
+            entrada.position(entrada.position() + n);
+            posicao += n;
+
+            entrada.flip();
+            while (codificador.encode(entrada, bytes, false).isOverflow()) {
+                escreverBytes();
+            }
+            entrada.compact();
+        }
+        texto.setLength(0);
+    }
+
+    private void escreverBytes() {
+        bytes.flip();
+        if (!erro && bytes.hasRemaining()) {
+            System.out.flush(); // Mantém a ordem em relação ao que foi escrito diretamente no System.out
+            try {
+                while (bytes.hasRemaining()) {
+                    canal.write(bytes);
+                }
+            } catch (IOException e) {
+                erro = true;
+            }
+        }
+        bytes.clear();
+    }
+}